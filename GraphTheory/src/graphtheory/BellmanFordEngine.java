@@ -0,0 +1,170 @@
+package graphtheory;
+
+import java.util.Arrays;
+
+/**
+ * Queue-based Bellman-Ford (SPFA) over a GraphSnapshot. Only vertices whose
+ * distance changed are re-examined; the queue uses the Small Label First and
+ * Large Label Last heuristics. Every time a vertex has been relaxed another n
+ * times the predecessor graph is checked for a cycle, which is then reported
+ * as the negative cycle witness.
+ */
+public class BellmanFordEngine {
+
+    public static final int INF = 1_000_000_000;
+
+    private final GraphSnapshot g;
+    private final int[] dist;
+    private final int[] prev;
+    private final int[] relaxCount;
+    private final boolean[] queued;
+    private final int[] queue; // circular deque of capacity n
+    private final int[] stamp; // scratch for the parent-graph cycle search
+    private int head, size;
+    private long queuedSum;
+    private int[] negativeCycle;
+
+    public BellmanFordEngine(GraphSnapshot g) {
+        this.g = g;
+        int n = g.n;
+        dist = new int[n];
+        prev = new int[n];
+        relaxCount = new int[n];
+        queued = new boolean[n];
+        queue = new int[Math.max(1, n)];
+        stamp = new int[n];
+    }
+
+    // Returns false if a negative cycle is reachable from source; see negativeCycle()
+    public boolean run(int source) {
+        int n = g.n;
+        Arrays.fill(dist, INF);
+        Arrays.fill(prev, -1);
+        Arrays.fill(relaxCount, 0);
+        Arrays.fill(queued, false);
+        head = 0;
+        size = 0;
+        queuedSum = 0;
+        negativeCycle = null;
+
+        dist[source] = 0;
+        pushBack(source);
+        return drain();
+    }
+
+    // Relax until the queue empties (true) or a negative cycle shows up in the predecessor graph (false)
+    private boolean drain() {
+        int n = g.n;
+        int[] offsets = g.offsets, targets = g.targets, weights = g.weights;
+        while (size > 0) {
+            int u = popFront();
+            int du = dist[u];
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int v = targets[a];
+                long nd = (long) du + weights[a];
+                if (nd >= dist[v]) continue;
+                int newDist = (int) Math.max(nd, -INF);
+                if (queued[v]) queuedSum += newDist - dist[v];
+                dist[v] = newDist;
+                prev[v] = u;
+                if (++relaxCount[v] % n == 0) {
+                    negativeCycle = findParentCycle();
+                    if (negativeCycle != null) return false;
+                }
+                if (!queued[v]) {
+                    // Small Label First: better-than-front labels jump the queue
+                    if (size > 0 && dist[v] < dist[queue[head]]) pushFront(v); else pushBack(v);
+                }
+            }
+        }
+        return true;
+    }
+
+    // Bellman-Ford from a virtual source joined to every vertex by a 0-weight arc, as used by Johnson's
+    // reweighting. Returns false if the graph has a negative cycle anywhere; see negativeCycle()
+    public boolean runFromAll() {
+        int n = g.n;
+        Arrays.fill(dist, 0);
+        Arrays.fill(prev, -1);
+        Arrays.fill(relaxCount, 0);
+        Arrays.fill(queued, false);
+        head = 0;
+        size = 0;
+        queuedSum = 0;
+        negativeCycle = null;
+        for (int v = 0; v < n; v++) {
+            pushBack(v);
+        }
+        return drain();
+    }
+
+    public int[] distances() {
+        return dist;
+    }
+
+    public int[] predecessors() {
+        return prev;
+    }
+
+    // Vertex indices of the negative cycle found by the last run, in arc order (last -> first closes it); null if none
+    public int[] negativeCycle() {
+        return negativeCycle;
+    }
+
+    private void pushBack(int v) {
+        queue[(head + size) % queue.length] = v;
+        size++;
+        queued[v] = true;
+        queuedSum += dist[v];
+    }
+
+    private void pushFront(int v) {
+        head = (head - 1 + queue.length) % queue.length;
+        queue[head] = v;
+        size++;
+        queued[v] = true;
+        queuedSum += dist[v];
+    }
+
+    private int popFront() {
+        // Large Label Last: rotate labels above the queue average to the back
+        for (int spins = size; spins > 1 && (long) dist[queue[head]] * size > queuedSum; spins--) {
+            int v = queue[head];
+            head = (head + 1) % queue.length;
+            queue[(head + size - 1) % queue.length] = v;
+        }
+        int u = queue[head];
+        head = (head + 1) % queue.length;
+        size--;
+        queued[u] = false;
+        queuedSum -= dist[u];
+        return u;
+    }
+
+    // Any cycle in the predecessor graph has negative total weight
+    private int[] findParentCycle() {
+        int n = g.n;
+        Arrays.fill(stamp, 0);
+        for (int s = 0; s < n; s++) {
+            if (stamp[s] != 0) continue;
+            int v = s;
+            while (v != -1 && stamp[v] == 0) {
+                stamp[v] = s + 1;
+                v = prev[v];
+            }
+            if (v != -1 && stamp[v] == s + 1) {
+                // v lies on a cycle closed by this walk; fill it from the back so it reads in arc order
+                int len = 1;
+                for (int x = prev[v]; x != v; x = prev[x]) len++;
+                int[] cycle = new int[len];
+                int x = v;
+                for (int i = len - 1; i >= 0; i--) {
+                    cycle[i] = x;
+                    x = prev[x];
+                }
+                return cycle;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,165 @@
+package graphtheory;
+
+import java.util.Arrays;
+
+/**
+ * Articulation points, bridges and blocks of the undirected graph behind a
+ * snapshot, with the block-cut tree, by Tarjan's low-link search in O(V + E).
+ * The depth-first search keeps its own stack of (vertex, arc cursor), so long
+ * path-like graphs do not overflow the thread stack.
+ *
+ * Every vertex lies in at least one block; an isolated vertex is a block of
+ * its own and a bridge is a two-vertex block. In the block-cut tree, nodes
+ * 0 .. blockCount - 1 are the blocks and blockCount + i is the i-th
+ * articulation point; a block is joined to each cut vertex it contains.
+ */
+public class BiconnectedComponents {
+
+    public final GraphSnapshot g;  // the undirected copy searched
+    public int components;
+    public int[] articulationPoints; // ascending vertex indices
+    public int[][] bridges;          // {u, v} per bridge
+    public int blockCount;
+    public int[] blockStart;         // vertices of block b: blockVertices[blockStart[b] .. blockStart[b + 1] - 1]
+    public int[] blockVertices;
+    public int[] cutIndex;           // position of v in articulationPoints, or -1
+    public int[] treeOffsets;        // block-cut tree adjacency over blockCount + articulationPoints.length nodes
+    public int[] treeTargets;
+
+    public BiconnectedComponents(GraphSnapshot g) {
+        this.g = g.undirectedUnweighted();
+        compute();
+    }
+
+    public boolean isArticulation(int v) {
+        return cutIndex[v] >= 0;
+    }
+
+    private void compute() {
+        int n = g.n;
+        int[] offsets = g.offsets, targets = g.targets;
+        int[] disc = new int[n];
+        int[] low = new int[n];
+        int[] parent = new int[n];
+        int[] cursor = new int[n];
+        int[] stack = new int[n];      // DFS path
+        int[] pending = new int[n];    // vertices not yet assigned to a block, in discovery order
+        boolean[] cut = new boolean[n];
+        Arrays.fill(disc, -1);
+
+        int[] bridgeEnds = new int[16];
+        int bridgeCount = 0;
+        int[] starts = new int[16];
+        int[] members = new int[Math.max(16, n)];
+        int blocks = 0, memberCount = 0;
+        int time = 0;
+        components = 0;
+
+        for (int r = 0; r < n; r++) {
+            if (disc[r] >= 0) continue;
+            components++;
+            int depth = 0, top = 0, rootChildren = 0;
+            disc[r] = low[r] = time++;
+            parent[r] = -1;
+            cursor[r] = offsets[r];
+            stack[depth++] = r;
+            pending[top++] = r;
+            while (depth > 0) {
+                int u = stack[depth - 1];
+                if (cursor[u] < offsets[u + 1]) {
+                    int w = targets[cursor[u]++];
+                    if (w == u) continue;
+                    if (disc[w] < 0) {
+                        disc[w] = low[w] = time++;
+                        parent[w] = u;
+                        cursor[w] = offsets[w];
+                        stack[depth++] = w;
+                        pending[top++] = w;
+                        if (u == r) rootChildren++;
+                    } else if (w != parent[u] && disc[w] < low[u]) {
+                        low[u] = disc[w];
+                    }
+                    continue;
+                }
+                depth--;
+                int p = parent[u];
+                if (p < 0) continue;
+                if (low[u] < low[p]) low[p] = low[u];
+                if (low[u] > disc[p]) {
+                    if (2 * bridgeCount + 2 > bridgeEnds.length) bridgeEnds = Arrays.copyOf(bridgeEnds, 2 * bridgeEnds.length);
+                    bridgeEnds[2 * bridgeCount] = p;
+                    bridgeEnds[2 * bridgeCount + 1] = u;
+                    bridgeCount++;
+                }
+                if (low[u] >= disc[p]) {
+                    // p separates u's subtree: the subtree's pending vertices and p form a block
+                    if (p != r) cut[p] = true;
+                    if (blocks + 2 > starts.length) starts = Arrays.copyOf(starts, 2 * starts.length);
+                    starts[blocks] = memberCount;
+                    int w;
+                    do {
+                        w = pending[--top];
+                        if (memberCount == members.length) members = Arrays.copyOf(members, 2 * members.length);
+                        members[memberCount++] = w;
+                    } while (w != u);
+                    if (memberCount == members.length) members = Arrays.copyOf(members, 2 * members.length);
+                    members[memberCount++] = p;
+                    blocks++;
+                }
+            }
+            if (rootChildren >= 2) cut[r] = true;
+            if (rootChildren == 0) {
+                if (blocks + 2 > starts.length) starts = Arrays.copyOf(starts, 2 * starts.length);
+                starts[blocks++] = memberCount;
+                if (memberCount == members.length) members = Arrays.copyOf(members, 2 * members.length);
+                members[memberCount++] = r;
+            }
+        }
+
+        blockCount = blocks;
+        blockStart = Arrays.copyOf(starts, blocks + 1);
+        blockStart[blocks] = memberCount;
+        blockVertices = Arrays.copyOf(members, memberCount);
+        bridges = new int[bridgeCount][];
+        for (int i = 0; i < bridgeCount; i++) {
+            bridges[i] = new int[]{bridgeEnds[2 * i], bridgeEnds[2 * i + 1]};
+        }
+        cutIndex = new int[n];
+        int cuts = 0;
+        for (int v = 0; v < n; v++) {
+            cutIndex[v] = cut[v] ? cuts++ : -1;
+        }
+        articulationPoints = new int[cuts];
+        for (int v = 0; v < n; v++) {
+            if (cut[v]) articulationPoints[cutIndex[v]] = v;
+        }
+        buildTree();
+    }
+
+    private void buildTree() {
+        int nodes = blockCount + articulationPoints.length;
+        int[] deg = new int[nodes + 1];
+        for (int b = 0; b < blockCount; b++) {
+            for (int i = blockStart[b]; i < blockStart[b + 1]; i++) {
+                int c = cutIndex[blockVertices[i]];
+                if (c < 0) continue;
+                deg[b]++;
+                deg[blockCount + c]++;
+            }
+        }
+        treeOffsets = new int[nodes + 1];
+        for (int x = 0; x < nodes; x++) {
+            treeOffsets[x + 1] = treeOffsets[x] + deg[x];
+        }
+        treeTargets = new int[treeOffsets[nodes]];
+        int[] fill = Arrays.copyOf(treeOffsets, nodes);
+        for (int b = 0; b < blockCount; b++) {
+            for (int i = blockStart[b]; i < blockStart[b + 1]; i++) {
+                int c = cutIndex[blockVertices[i]];
+                if (c < 0) continue;
+                treeTargets[fill[b]++] = blockCount + c;
+                treeTargets[fill[blockCount + c]++] = b;
+            }
+        }
+    }
+}
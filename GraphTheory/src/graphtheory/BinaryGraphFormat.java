@@ -0,0 +1,374 @@
+package graphtheory;
+
+import java.awt.Color;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Vector;
+
+/**
+ * Compact binary graph file (.gtb), written through a FileChannel and read
+ * back with one bulk channel read into a heap ByteBuffer, with no per-line
+ * Strings or splitting. No mapping outlives a load, so a file just opened can
+ * be saved over straight away (Windows refuses to truncate a file that is
+ * still memory-mapped). Every section is a flat run of values in vertex or
+ * arc order:
+ *
+ *   magic     "GTB" and a version byte
+ *   counts    vertex count n, edge count m (int32 each)
+ *   names     n strings: varint byte length, UTF-8 bytes
+ *   positions n (x, y) pairs, zig-zag varints
+ *   colors    n RGB triples, one byte per channel
+ *   topology  per vertex: varint out-degree, then the sorted targets as
+ *             varint gaps from the previous one (CSR, so m arcs in total)
+ *   directed  one bit per arc, (m + 7) / 8 bytes
+ *   weights   m zig-zag varints
+ *   colors    m RGB triples
+ *
+ * Each Edge is one arc from vertex1 to vertex2 with its own directed bit, so
+ * a graph comes back with exactly the edges it was saved with; only their
+ * order changes, to source then target. Loading costs O(V + E).
+ */
+public class BinaryGraphFormat {
+
+    public static final String EXTENSION = "gtb";
+    private static final int MAGIC = ('G' << 24) | ('T' << 16) | ('B' << 8) | 1;
+
+    public static boolean isBinaryFile(File f) {
+        return f.getName().toLowerCase().endsWith("." + EXTENSION);
+    }
+
+    public static void save(Vector<Vertex> vList, Vector<Edge> eList, File f) throws IOException {
+        VertexIndex index = new VertexIndex(vList);
+        int n = vList.size();
+
+        // One pass over the edges into flat arrays, then arcs ordered by source and target
+        int m = 0;
+        Edge[] edges = eList.toArray(new Edge[0]); // one copy instead of a synchronized call per edge
+        int[] source = new int[edges.length];
+        int[] target = new int[edges.length];
+        int[] weight = new int[edges.length];
+        int[] rgb = new int[edges.length];
+        boolean[] directed = new boolean[edges.length];
+        for (Edge e : edges) {
+            int u = index.indexOf(e.vertex1), w = index.indexOf(e.vertex2);
+            if (u < 0 || w < 0) continue; // skip inconsistent
+            source[m] = u;
+            target[m] = w;
+            weight[m] = e.weight;
+            rgb[m] = e.color != null ? e.color.getRGB() : 0;
+            directed[m++] = e.isDirected;
+        }
+        int[] offsets = new int[n + 1];
+        int[] order = sortBy(source, n, sortBy(target, n, identity(m), null), offsets);
+
+        try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            Output out = new Output(channel);
+            out.putInt(MAGIC);
+            out.putInt(n);
+            out.putInt(m);
+            for (Vertex v : vList) {
+                byte[] name = v.name.getBytes(StandardCharsets.UTF_8);
+                out.putVarint(name.length);
+                out.putBytes(name);
+            }
+            for (Vertex v : vList) {
+                out.putVarint(zigZag(v.location.x));
+                out.putVarint(zigZag(v.location.y));
+            }
+            for (Vertex v : vList) {
+                out.putRgb(v.color);
+            }
+            for (int v = 0; v < n; v++) {
+                out.putVarint(offsets[v + 1] - offsets[v]);
+                int previous = 0;
+                for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                    int w = target[order[a]];
+                    out.putVarint(w - previous);
+                    previous = w;
+                }
+            }
+            for (int a = 0; a < m; a += 8) {
+                int bits = 0;
+                for (int b = 0; b < 8 && a + b < m; b++) {
+                    if (directed[order[a + b]]) bits |= 1 << b;
+                }
+                out.putByte(bits);
+            }
+            for (int a = 0; a < m; a++) {
+                out.putVarint(zigZag(weight[order[a]]));
+            }
+            for (int a = 0; a < m; a++) {
+                out.putRgb(rgb[order[a]]);
+            }
+            out.flush();
+        }
+    }
+
+    // Stable counting sort of the edge numbers in items by key; the bucket starts go to offsets if given
+    private static int[] sortBy(int[] key, int n, int[] items, int[] offsets) {
+        int[] fill = new int[n + 1];
+        for (int i : items) {
+            fill[key[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            fill[v + 1] += fill[v];
+        }
+        if (offsets != null) System.arraycopy(fill, 0, offsets, 0, n + 1);
+        int[] sorted = new int[items.length];
+        for (int i : items) {
+            sorted[fill[key[i]]++] = i;
+        }
+        return sorted;
+    }
+
+    private static int[] identity(int m) {
+        int[] id = new int[m];
+        for (int i = 0; i < m; i++) {
+            id[i] = i;
+        }
+        return id;
+    }
+
+    // Returns {vertexList, edgeList} like FileManager.loadFile; a damaged file throws IOException
+    public static Vector<Vector<?>> load(File f) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IOException(f.getName() + " is too large");
+            in = ByteBuffer.allocate((int) size);
+            while (in.hasRemaining() && channel.read(in) >= 0) {
+                // a single read normally fills it
+            }
+            in.flip();
+        }
+        if (in.remaining() < 12 || in.getInt() != MAGIC) {
+            throw new IOException(f.getName() + " is not a ." + EXTENSION + " graph file");
+        }
+        try {
+            return read(in, f.getName());
+        } catch (BufferUnderflowException ex) {
+            throw corrupt(f.getName());
+        }
+    }
+
+    // The sections after the magic; counts, lengths and targets are checked against the buffer and n
+    private static Vector<Vector<?>> read(ByteBuffer in, String name) throws IOException {
+        int n = in.getInt();
+        int m = in.getInt();
+        // every vertex takes at least 7 bytes and every arc at least 5, so bogus counts fail here
+        if (n < 0 || m < 0 || 7L * n + 5L * m > in.remaining()) throw corrupt(name);
+
+        Vector<Vertex> vertexList = new Vector<Vertex>(n);
+        byte[] bytes = new byte[64];
+        for (int i = 0; i < n; i++) {
+            int length = getVarint(in);
+            if (length < 0 || length > in.remaining()) throw corrupt(name);
+            if (length > bytes.length) bytes = new byte[Math.max(length, 2 * bytes.length)];
+            in.get(bytes, 0, length);
+            vertexList.add(new Vertex(new String(bytes, 0, length, StandardCharsets.UTF_8), 0, 0));
+        }
+        for (Vertex v : vertexList) {
+            v.location.x = unZigZag(getVarint(in));
+            v.location.y = unZigZag(getVarint(in));
+        }
+        ColorTable colors = new ColorTable();
+        for (Vertex v : vertexList) {
+            v.color = getRgb(in, colors);
+        }
+
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[m];
+        int a = 0;
+        for (int v = 0; v < n; v++) {
+            int degree = getVarint(in);
+            if (degree < 0 || degree > m - a) throw corrupt(name);
+            int target = 0;
+            for (int k = 0; k < degree; k++) {
+                int gap = getVarint(in);
+                if (gap < 0 || gap >= n - target) throw corrupt(name);
+                target += gap;
+                targets[a++] = target;
+            }
+            offsets[v + 1] = a;
+        }
+        if (a != m) throw corrupt(name);
+
+        Edge[] arcs = new Edge[m];
+        for (int v = 0; v < n; v++) {
+            Vertex source = vertexList.get(v);
+            for (a = offsets[v]; a < offsets[v + 1]; a++) {
+                arcs[a] = new Edge(source, vertexList.get(targets[a]));
+            }
+        }
+        for (a = 0; a < m; a += 8) {
+            int bits = in.get();
+            for (int b = 0; b < 8 && a + b < m; b++) {
+                arcs[a + b].isDirected = (bits & (1 << b)) != 0;
+            }
+        }
+        for (Edge e : arcs) {
+            e.weight = unZigZag(getVarint(in));
+        }
+        for (Edge e : arcs) {
+            e.color = getRgb(in, colors);
+        }
+        Vector<Edge> edgeList = new Vector<Edge>(m);
+        for (Edge e : arcs) {
+            edgeList.add(e);
+        }
+
+        connect(vertexList, offsets, targets);
+        Vector<Vector<?>> file = new Vector<>();
+        file.add(vertexList);
+        file.add(edgeList);
+        return file;
+    }
+
+    private static IOException corrupt(String name) {
+        return new IOException(name + " is not a valid ." + EXTENSION + " graph file (damaged or truncated)");
+    }
+
+    // connectedVertices from the arcs in both directions, each neighbour once, as the text loader does
+    private static void connect(Vector<Vertex> vList, int[] offsets, int[] targets) {
+        int n = vList.size();
+        int[] inOffsets = new int[n + 1];
+        for (int t : targets) {
+            inOffsets[t + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            inOffsets[v + 1] += inOffsets[v];
+        }
+        int[] sources = new int[targets.length];
+        int[] fill = inOffsets.clone();
+        for (int v = 0; v < n; v++) {
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                sources[fill[targets[a]]++] = v;
+            }
+        }
+        int[] stamp = new int[n];
+        for (int v = 0; v < n; v++) {
+            Vertex vertex = vList.get(v);
+            vertex.connectedVertices.ensureCapacity(offsets[v + 1] - offsets[v] + inOffsets[v + 1] - inOffsets[v]);
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                link(vList, vertex, targets[a], stamp, v);
+            }
+            for (int a = inOffsets[v]; a < inOffsets[v + 1]; a++) {
+                link(vList, vertex, sources[a], stamp, v);
+            }
+        }
+    }
+
+    private static void link(Vector<Vertex> vList, Vertex vertex, int w, int[] stamp, int v) {
+        if (stamp[w] == v + 1) return;
+        stamp[w] = v + 1;
+        vertex.addVertex(vList.get(w));
+    }
+
+    private static long zigZag(int x) {
+        return ((x << 1) ^ (x >> 31)) & 0xffffffffL;
+    }
+
+    private static int unZigZag(int x) {
+        return (x >>> 1) ^ -(x & 1);
+    }
+
+    private static int getVarint(ByteBuffer in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException("damaged ." + EXTENSION + " file: varint longer than 5 bytes");
+    }
+
+    private static Color getRgb(ByteBuffer in, ColorTable colors) {
+        return colors.get(((in.get() & 0xff) << 16) | ((in.get() & 0xff) << 8) | (in.get() & 0xff));
+    }
+
+    // Colors are shared: most vertices and edges use one of a handful, often the same as the one before
+    private static class ColorTable {
+
+        private final HashMap<Integer, Color> colors = new HashMap<Integer, Color>();
+        private Color last = Color.BLACK;
+
+        Color get(int rgb) {
+            if ((last.getRGB() & 0xffffff) == rgb) return last;
+            Color c = colors.get(rgb);
+            if (c == null) {
+                c = new Color(rgb);
+                colors.put(rgb, c);
+            }
+            last = c;
+            return c;
+        }
+    }
+
+    // Buffered channel writer; the buffer is drained whenever a value might not fit
+    private static class Output {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int x) throws IOException {
+            reserve(4);
+            buffer.putInt(x);
+        }
+
+        void putByte(int b) throws IOException {
+            reserve(1);
+            buffer.put((byte) b);
+        }
+
+        void putVarint(long x) throws IOException {
+            reserve(5);
+            while (x >= 0x80) {
+                buffer.put((byte) (x | 0x80));
+                x >>>= 7;
+            }
+            buffer.put((byte) x);
+        }
+
+        void putRgb(Color c) throws IOException {
+            putRgb(c != null ? c.getRGB() : 0);
+        }
+
+        void putRgb(int rgb) throws IOException {
+            reserve(3);
+            buffer.put((byte) (rgb >> 16)).put((byte) (rgb >> 8)).put((byte) rgb);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.capacity()) {
+                flush();
+                ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+                while (wrapped.hasRemaining()) channel.write(wrapped);
+                return;
+            }
+            reserve(bytes.length);
+            buffer.put(bytes);
+        }
+
+        private void reserve(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) flush();
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) channel.write(buffer);
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package graphtheory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Cache-blocked Floyd-Warshall on a flat row-major int[] of size n*n.
+ * For each diagonal tile the standard three phases run in order: the diagonal
+ * tile itself, then its row and column tiles in parallel, then every remaining
+ * tile in parallel. The inner min-plus loop is branch-free over contiguous
+ * rows so the JIT can vectorize it.
+ */
+public class BlockedFloydWarshall {
+
+    public static final int INF = 1_000_000_000;
+    private static final int BLOCK = 64;
+
+    private final ForkJoinPool pool;
+
+    public BlockedFloydWarshall() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BlockedFloydWarshall(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // All-pairs distances of g as d[i * n + j]; INF marks unreachable pairs
+    public int[] solve(GraphSnapshot g) {
+        final int n = g.n;
+        final int[] d = new int[n * n];
+        Arrays.fill(d, INF);
+        for (int i = 0; i < n; i++) {
+            d[i * n + i] = 0;
+        }
+        for (int u = 0; u < n; u++) {
+            for (int a = g.offsets[u]; a < g.offsets[u + 1]; a++) {
+                int idx = u * n + g.targets[a];
+                d[idx] = Math.min(d[idx], g.weights[a]);
+            }
+        }
+        if (n == 0) return d;
+
+        final int blocks = (n + BLOCK - 1) / BLOCK;
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                for (int kb = 0; kb < blocks; kb++) {
+                    // Phase 1: the diagonal tile depends only on itself
+                    relax(d, n, kb, kb, kb);
+
+                    // Phase 2: tiles sharing a row or column with the diagonal tile
+                    List<RecursiveAction> tiles = new ArrayList<RecursiveAction>();
+                    for (int b = 0; b < blocks; b++) {
+                        if (b == kb) continue;
+                        tiles.add(new Tile(d, n, kb, kb, b));
+                        tiles.add(new Tile(d, n, kb, b, kb));
+                    }
+                    invokeAll(tiles);
+
+                    // Phase 3: every other tile reads only phase 2 results
+                    tiles.clear();
+                    for (int ib = 0; ib < blocks; ib++) {
+                        if (ib == kb) continue;
+                        tiles.add(new Row(d, n, kb, ib, blocks));
+                    }
+                    invokeAll(tiles);
+                }
+            }
+        });
+
+        // Entries that only drifted below INF through negative arcs are still unreachable
+        for (int i = 0; i < d.length; i++) {
+            if (d[i] > INF / 2) d[i] = INF;
+        }
+        return d;
+    }
+
+    // Min-plus update of tile (ib, jb) through the intermediate vertices of tile kb
+    static void relax(int[] d, int n, int kb, int ib, int jb) {
+        int k0 = kb * BLOCK, k1 = Math.min(n, k0 + BLOCK);
+        int i0 = ib * BLOCK, i1 = Math.min(n, i0 + BLOCK);
+        int j0 = jb * BLOCK, j1 = Math.min(n, j0 + BLOCK);
+        for (int k = k0; k < k1; k++) {
+            int kRow = k * n;
+            for (int i = i0; i < i1; i++) {
+                int iRow = i * n;
+                int dik = d[iRow + k];
+                if (dik >= INF) continue;
+                for (int j = j0; j < j1; j++) {
+                    d[iRow + j] = Math.min(d[iRow + j], dik + d[kRow + j]);
+                }
+            }
+        }
+    }
+
+    private static class Tile extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int[] d;
+        private final int n, kb, ib, jb;
+
+        Tile(int[] d, int n, int kb, int ib, int jb) {
+            this.d = d;
+            this.n = n;
+            this.kb = kb;
+            this.ib = ib;
+            this.jb = jb;
+        }
+
+        @Override
+        protected void compute() {
+            relax(d, n, kb, ib, jb);
+        }
+    }
+
+    // One tile row of phase 3, so each task streams through a contiguous band of d
+    private static class Row extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int[] d;
+        private final int n, kb, ib, blocks;
+
+        Row(int[] d, int n, int kb, int ib, int blocks) {
+            this.d = d;
+            this.n = n;
+            this.kb = kb;
+            this.ib = ib;
+            this.blocks = blocks;
+        }
+
+        @Override
+        protected void compute() {
+            for (int jb = 0; jb < blocks; jb++) {
+                if (jb != kb) relax(d, n, kb, ib, jb);
+            }
+        }
+    }
+}
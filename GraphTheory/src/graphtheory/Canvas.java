@@ -16,6 +16,8 @@ import java.awt.Toolkit;
  
 import java.util.Vector;
 import java.util.Stack;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.geom.AffineTransform;
@@ -44,12 +46,20 @@ public class Canvas {
     private int lastMouseX = 0, lastMouseY = 0;
     private Vertex pathSource = null;
     private static final int TOOLBAR_BUTTON_WIDTH = 200;
+    private static final int LIVE_MIN_CUT_LIMIT = 5000; // largest graph whose edge connectivity refresh() keeps current
     private JPanel propertiesPanel;
 
     /////////////
     private Vector<Vertex> vertexList;
     private Vector<Edge> edgeList;
+    private VertexIndex vertexIndex;
+    private EdgeIndex edgeIndex;
+    private ComponentTracker components = new ComponentTracker();
     private GraphProperties gP = new GraphProperties();
+    private PropertyCache propertyCache = new PropertyCache(gP);
+    private SwingWorker<ContainerReport, Void> containerWorker; // running container analysis, see startContainerAnalysis
+    private AtomicBoolean containerCancelled; // stop flag of containerWorker
+    private long graphVersion; // bumped on every topology or weight edit, see graphChanged()
     private Stack<GraphState> undoStack = new Stack<>();
     private Stack<GraphState> redoStack = new Stack<>();
     // Local toggle state used only if VersionControl toggle is not available
@@ -113,13 +123,17 @@ public class Canvas {
             if (toProperties) {
                 selectedWindow = 1;
                 if (vertexList.size() > 0) {
-                    int[][] matrix = gP.generateAdjacencyMatrix(vertexList, edgeList);
-                    Vector<Vertex> tempList = gP.vertexConnectivity(vertexList);
-                    for (Vertex v : tempList) {
-                        vertexList.get(vertexList.indexOf(v)).wasClicked = true;
+                    GraphSnapshot snapshot = new GraphSnapshot(vertexList, edgeList);
+                    gP.generateAdjacencyMatrix(snapshot);
+                    Vector<Vertex> cutVertices = propertyCache.cutVertices(graphVersion, snapshot);
+                    Vector<Vertex> separatingSet = propertyCache.connectivity(graphVersion, snapshot);
+                    for (Vertex v : cutVertices.isEmpty() ? separatingSet : cutVertices) {
+                        v.wasClicked = true;
                     }
-                    reloadVertexConnections(matrix, vertexList);
-                    gP.generateDistanceMatrixWeighted(vertexList, edgeList);
+                    for (Edge ed : propertyCache.minimumCut(graphVersion, weightsEnabled, vertexList, edgeList)) {
+                        ed.wasClicked = true;
+                    }
+                    propertyCache.distanceMatrix(graphVersion, snapshot, true);
                 }
                 viewToggle.setText("Show Graph");
             } else {
@@ -151,6 +165,7 @@ public class Canvas {
             {"Set Edge Weight", null, "Click an edge to set its weight (Enable Weights first)."},
             {"Shortest Path (Bellman-Ford)", null, "Click source, then target (handles negative weights)."},
             {"Graph Complement", null, "Replace the graph with its complement (respects directionality setting)."},
+            {"Color by Core Number", null, "Color every vertex by its k-core number (deeper cores are warmer)."},
             {"Auto Arrange Vertices", null, "Arrange vertices in a circle."},
             {"Undo", null, "Undo the last action."},
             {"Redo", null, "Redo the last undone action."},
@@ -229,6 +244,7 @@ public class Canvas {
 
         vertexList = new Vector<Vertex>();
         edgeList = new Vector<Edge>();
+        rebuildIndexes();
 
         // Clear file-based 2-version version control on startup
         VersionControl.clear();
@@ -250,7 +266,7 @@ public class Canvas {
                         if (vertexHit(v, e.getX(), e.getY())) {
                             Edge edge = new Edge(v, v);
                             edge.isDirected = directionalityEnabled;
-                            edgeList.add(edge);
+                            addEdge(edge);
                             v.addVertex(v);
                             break;
                         }
@@ -260,6 +276,9 @@ public class Canvas {
                         case 1: {
                             Vertex v = new Vertex("" + vertexList.size(), toWorldX(e.getX()), toWorldY(e.getY()));
                             vertexList.add(v);
+                            vertexIndex.add(v);
+                            components.addVertex(v);
+                            graphChanged();
                             v.draw(graphic);
                             break;
                         }
@@ -305,6 +324,7 @@ public class Canvas {
                                     v.connectedVertices.remove(selectedVertex);
                                 }
                                 vertexList.remove(selectedVertex);
+                                rebuildIndexes();
                             } else {
                                 Edge hitEdge = null;
                                 for (Edge edge : edgeList) {
@@ -314,7 +334,7 @@ public class Canvas {
                                 if (hitEdge != null) {
                                     // Remove ONLY the clicked directed edge, regardless of arrow or line body
                                     Vertex a = hitEdge.vertex1, b = hitEdge.vertex2;
-                                    edgeList.remove(hitEdge);
+                                    removeEdge(hitEdge);
                                     if (!hasAnyEdgeBetween(a, b)) {
                                         a.connectedVertices.remove(b);
                                         if (a != b) b.connectedVertices.remove(a);
@@ -375,7 +395,7 @@ public class Canvas {
                         for (Edge edge : edgeList) {
                             if (edgeHit(edge, e.getX(), e.getY())) {
                                 // Always invert the direction of the clicked edge
-                                Vertex tmp = edge.vertex1; edge.vertex1 = edge.vertex2; edge.vertex2 = tmp;
+                                invertEdge(edge);
                                 edge.isDirected = true;
                                 refresh();
                                 break;
@@ -410,9 +430,7 @@ public class Canvas {
                             for (Edge edge : edgeList) {
                                 if (edgeHit(edge, e.getX(), e.getY())) {
                                     // Swap the vertices to invert the direction
-                                    Vertex temp = edge.vertex1;
-                                    edge.vertex1 = edge.vertex2;
-                                    edge.vertex2 = temp;
+                                    invertEdge(edge);
                                     break;
                                 }
                             }
@@ -433,9 +451,11 @@ public class Canvas {
                                                 Edge rev = findDirectedEdge(edge.vertex2, edge.vertex1);
                                                 if (rev != null) rev.weight = w;
                                             }
-                                            // If currently viewing Properties, recompute weighted distances immediately
+                                            graphChanged();
+                                            // If currently viewing Properties, recompute weighted distances immediately,
+                                            // over the same directed snapshot the Properties view caches
                                             if (selectedWindow == 1) {
-                                                gP.generateDistanceMatrixWeighted(vertexList, getEffectiveEdgesForAlgorithms());
+                                                propertyCache.distanceMatrix(graphVersion, new GraphSnapshot(vertexList, edgeList), true);
                                                 erase();
                                             }
                                         } catch (NumberFormatException ex) {
@@ -456,6 +476,7 @@ public class Canvas {
                                     String trimmed = input.trim();
                                     if (!trimmed.isEmpty()) {
                                         vtx.name = trimmed;
+                                        rebuildIndexes();
                                     }
                                 }
                                 break;
@@ -477,36 +498,45 @@ public class Canvas {
                                 clicked.wasClicked = true; // mark source
                             } else {
                                 Vertex target = clicked;
-                                int srcIdx = vertexList.indexOf(pathSource);
-                                int tgtIdx = vertexList.indexOf(target);
-                                Vector<Edge> effEdges = (weightsEnabled || directionalityEnabled)
-                                        ? getEffectiveEdgesForAlgorithms()
-                                        : getUnweightedEdgesForAlgorithms();
-                                // Use Bellman-Ford to support negative weights
-                                int[] prev = gP.bellmanFordPredecessor(vertexList, effEdges, srcIdx);
-                                if (prev == null) {
-                                    JOptionPane.showMessageDialog(frame, "Negative cycle detected (Bellman-Ford).", "Shortest Path", JOptionPane.WARNING_MESSAGE);
+                                int srcIdx = vertexIndex.indexOf(pathSource);
+                                int tgtIdx = vertexIndex.indexOf(target);
+                                GraphSnapshot effGraph = (weightsEnabled || directionalityEnabled)
+                                        ? getEffectiveSnapshot()
+                                        : getUnweightedSnapshot();
+                                // A* / bidirectional Dijkstra; Bellman-Ford only when negative weights are present.
+                                // Strong components, cached per version, rule out unreachable targets first.
+                                StronglyConnectedComponents scc = propertyCache.strongComponents(graphVersion,
+                                        directionalityEnabled, effGraph);
+                                int[] path = gP.shortestPath(effGraph, srcIdx, tgtIdx, scc);
+                                if (path == null && gP.negativeCycle != null) {
+                                    // Highlight the witness cycle before reporting it
+                                    for (Vertex v : vertexList) v.wasClicked = false;
+                                    for (Edge ed : edgeList) ed.wasClicked = false;
+                                    int[] cycle = gP.negativeCycle;
+                                    for (int i = 0; i < cycle.length; i++) {
+                                        Vertex a = vertexList.get(cycle[i]);
+                                        Vertex b = vertexList.get(cycle[(i + 1) % cycle.length]);
+                                        a.wasClicked = true;
+                                        highlightEdgeBetween(a, b);
+                                    }
+                                    refresh();
+                                    JOptionPane.showMessageDialog(frame, "Negative cycle detected (Bellman-Ford). The cycle is highlighted.", "Shortest Path", JOptionPane.WARNING_MESSAGE);
+                                } else if (path == null) {
+                                    JOptionPane.showMessageDialog(frame, "Target unreachable from source.", "Shortest Path", JOptionPane.INFORMATION_MESSAGE);
                                 } else {
-                                    if (srcIdx != tgtIdx && prev[tgtIdx] == -1) {
-                                        JOptionPane.showMessageDialog(frame, "Target unreachable from source.", "Shortest Path", JOptionPane.INFORMATION_MESSAGE);
-                                    } else {
-                                        // Clear previous highlights
-                                        for (Vertex v : vertexList) v.wasClicked = false;
-                                        for (Edge ed : edgeList) ed.wasClicked = false;
-                                        // Reconstruct path
-                                        java.util.ArrayList<Integer> seq = new java.util.ArrayList<>();
-                                        for (int v = tgtIdx; v != -1; v = prev[v]) seq.add(0, v);
-                                        // Highlight vertices and edges
-                                        for (int i = 0; i < seq.size(); i++) {
-                                            vertexList.get(seq.get(i)).wasClicked = true;
-                                            if (i + 1 < seq.size()) {
-                                                Vertex a = vertexList.get(seq.get(i));
-                                                Vertex b = vertexList.get(seq.get(i+1));
-                                                highlightEdgeBetween(a, b);
-                                            }
+                                    // Clear previous highlights
+                                    for (Vertex v : vertexList) v.wasClicked = false;
+                                    for (Edge ed : edgeList) ed.wasClicked = false;
+                                    // Highlight vertices and edges
+                                    for (int i = 0; i < path.length; i++) {
+                                        vertexList.get(path[i]).wasClicked = true;
+                                        if (i + 1 < path.length) {
+                                            Vertex a = vertexList.get(path[i]);
+                                            Vertex b = vertexList.get(path[i + 1]);
+                                            highlightEdgeBetween(a, b);
                                         }
-                                        refresh();
                                     }
+                                    refresh();
                                 }
                                 pathSource = null; // reset selection
                             }
@@ -538,7 +568,7 @@ public class Canvas {
                         for (Vertex v : vertexList) {
                             if (vertexHit(v, e.getX(), e.getY())) {
                                 v.wasClicked = true;
-                                clickedVertexIndex = vertexList.indexOf(v);
+                                clickedVertexIndex = vertexIndex.indexOf(v);
                             } else {
                                 v.wasClicked = false;
                             }
@@ -557,7 +587,7 @@ public class Canvas {
                         for (Vertex v : vertexList) {
                             if (vertexHit(v, e.getX(), e.getY())) {
                                 v.wasClicked = true;
-                                clickedVertexIndex = vertexList.indexOf(v);
+                                clickedVertexIndex = vertexIndex.indexOf(v);
                             } else {
                                 v.wasClicked = false;
                             }
@@ -594,7 +624,7 @@ public class Canvas {
                                     edge.isDirected = true;
                                     if (!parentV.connectedToVertex(v)) parentV.addVertex(v);
                                     if (!v.connectedToVertex(parentV)) v.addVertex(parentV);
-                                    edgeList.add(edge);
+                                    addEdge(edge);
                                     break;
                                 } else {
                                     // Undirected visual mode: block if any edge exists between the pair
@@ -606,7 +636,7 @@ public class Canvas {
                                     edge.isDirected = false;
                                     if (!parentV.connectedToVertex(v)) parentV.addVertex(v);
                                     if (!v.connectedToVertex(parentV)) v.addVertex(parentV);
-                                    edgeList.add(edge);
+                                    addEdge(edge);
                                     break;
                                 }
                             }
@@ -753,7 +783,8 @@ public class Canvas {
                             toAdd.add(rev);
                         }
                     }
-                    edgeList.addAll(toAdd);
+                    for (Edge rev : toAdd) addEdge(rev);
+                    graphChanged();
                     refresh();
                 } else {
                     // Enforce symmetric weights before disabling
@@ -764,12 +795,14 @@ public class Canvas {
                     saveState();
                     directionalityEnabled = false;
                     // Do not merge or drop arcs; just hide arrows in rendering (handled in refresh())
+                    graphChanged();
                     refresh();
                 }
             }
             else if (command.equals("Enable Weights")) {
                 saveState();
                 weightsEnabled = !weightsEnabled;
+                graphChanged();
                 refresh();
             }
             else if (command.equals("Auto Arrange Vertices")) {
@@ -780,12 +813,18 @@ public class Canvas {
                 saveState();
                 vertexList.clear();
                 edgeList.clear();
+                rebuildIndexes();
                 refresh();
             }
             else if (command.equals("Graph Complement")) {
                 saveState();
                 complementGraph();
             }
+            else if (command.equals("Color by Core Number")) {
+                saveState();
+                colorByCoreNumber();
+                refresh();
+            }
             
             // File operations
             else if (command.equals("Save to File")) {
@@ -831,6 +870,7 @@ public class Canvas {
             else if (command.equals("Remove All")) {
                 edgeList.removeAllElements();
                 vertexList.removeAllElements();
+                rebuildIndexes();
                 clickedVertexIndex = 0;
                 erase();
             }
@@ -844,20 +884,24 @@ public class Canvas {
                 selectedWindow = 1;
                 if (vertexList.size() > 0) {
                     //adjacency list
-                    int[][] matrix = gP.generateAdjacencyMatrix(vertexList, edgeList);
-
-                    //connectivity
-                    Vector<Vertex> tempList = gP.vertexConnectivity(vertexList);
-                    for (Vertex v : tempList) {
-                        vertexList.get(vertexList.indexOf(v)).wasClicked = true;
+                    GraphSnapshot snapshot = new GraphSnapshot(vertexList, edgeList);
+                    gP.generateAdjacencyMatrix(snapshot);
+
+                    //connectivity: highlight the cut vertices, or a minimum separating set if there are none
+                    Vector<Vertex> cutVertices = propertyCache.cutVertices(graphVersion, snapshot);
+                    Vector<Vertex> separatingSet = propertyCache.connectivity(graphVersion, snapshot);
+                    for (Vertex v : cutVertices.isEmpty() ? separatingSet : cutVertices) {
+                        v.wasClicked = true;
+                    }
+                    for (Edge ed : propertyCache.minimumCut(graphVersion, weightsEnabled, vertexList, edgeList)) {
+                        ed.wasClicked = true;
                     }
-                    reloadVertexConnections(matrix, vertexList);
 
-                    //distance (weighted + direction-aware)
-                    gP.generateDistanceMatrixWeighted(vertexList, edgeList);
+                    //distance (weighted + direction-aware, whether or not weights are shown)
+                    propertyCache.distanceMatrix(graphVersion, snapshot, true);
 
-                    //VD paths
-                    gP.displayContainers(vertexList);
+                    //VD paths: every pair is evaluated, so keep it off the event thread (the snapshot is immutable)
+                    startContainerAnalysis(snapshot);
                 //gP.drawNWideDiameter();
                 }
                 erase();
@@ -879,6 +923,36 @@ public class Canvas {
         }
     }
 
+    // One container analysis at a time: a newer Properties click supersedes the running one, whose pool
+    // workers stop after their current pair and whose result is dropped; the report prints on the worker
+    // thread and is published to gP on the event thread
+    private void startContainerAnalysis(final GraphSnapshot snapshot) {
+        if (containerWorker != null) {
+            containerCancelled.set(true);
+            containerWorker.cancel(false);
+        }
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        containerCancelled = cancelled;
+        containerWorker = new SwingWorker<ContainerReport, Void>() {
+            @Override
+            protected ContainerReport doInBackground() {
+                return gP.analyzeContainers(snapshot, cancelled);
+            }
+
+            @Override
+            protected void done() {
+                if (containerWorker != this || isCancelled()) return;
+                containerWorker = null;
+                try {
+                    gP.publishContainers(get());
+                } catch (InterruptedException | ExecutionException ex) {
+                    System.out.println(ex);
+                }
+            }
+        };
+        containerWorker.execute();
+    }
+
     private void arrangeVertices() {
         double deg2rad = Math.PI / 180;
         double radius = height / 5;
@@ -899,25 +973,57 @@ public class Canvas {
 
     }
 
-    private void reloadVertexConnections(int[][] aMatrix, Vector<Vertex> vList) {
-        for (Vertex v : vList) {
-            v.connectedVertices.clear();
+    // Hue from blue (core 0) to red (the innermost core); directions are ignored
+    private void colorByCoreNumber() {
+        if (vertexList.isEmpty()) return;
+        int[] core = gP.coreNumbers(new GraphSnapshot(vertexList, edgeList));
+        int max = Math.max(1, gP.cores.degeneracy);
+        for (int i = 0; i < vertexList.size(); i++) {
+            float t = (float) core[i] / max;
+            vertexList.get(i).color = Color.getHSBColor(0.66f * (1 - t), 0.85f, 0.9f);
         }
+    }
 
-        for (int i = 0; i < aMatrix.length; i++) {
-            for (int j = 0; j < aMatrix.length; j++) {
-                if (aMatrix[i][j] == 1) {
-                    vList.get(i).addVertex(vList.get(j));
-                }
-            }
-        }
+    // Reassign dense vertex ids and rebuild the edge lookup after the lists are replaced, shrunk or relabelled
+    private void rebuildIndexes() {
+        vertexIndex = new VertexIndex(vertexList, true);
+        edgeIndex = new EdgeIndex(edgeList);
+        components.rebuild(vertexList, edgeList);
+        graphChanged();
+    }
 
+    // Single-edge edits keep edgeList, edgeIndex and the component tracker in step
+    private void addEdge(Edge e) {
+        edgeList.add(e);
+        edgeIndex.add(e);
+        components.addEdge(e);
+        graphChanged();
+    }
+
+    private void removeEdge(Edge e) {
+        edgeList.remove(e);
+        edgeIndex.remove(e);
+        components.invalidate();
+        graphChanged();
+    }
+
+    private void invertEdge(Edge e) {
+        edgeIndex.remove(e);
+        Vertex tmp = e.vertex1; e.vertex1 = e.vertex2; e.vertex2 = tmp;
+        edgeIndex.add(e);
+        graphChanged();
+    }
+
+    // Any change to vertices, edges, directions or weights; moving vertices or the view is not one
+    private void graphChanged() {
+        graphVersion++;
     }
 
     @SuppressWarnings("unchecked")
     private void loadFile(Vector<Vector<?>> File) {
         vertexList = (Vector<Vertex>) File.firstElement();
         edgeList = (Vector<Edge>) File.lastElement();
+        rebuildIndexes();
         erase();
     }
 
@@ -947,6 +1053,7 @@ public class Canvas {
         // Update graph state
         this.vertexList = state.vertexList;
         this.edgeList = state.edgeList;
+        rebuildIndexes();
         this.directionalityEnabled = state.directionalityEnabled;
         this.weightsEnabled = state.weightsEnabled;
         this.selectedTool = state.selectedTool;
@@ -964,6 +1071,7 @@ public class Canvas {
                                 double zoom, int panX, int panY) {
         this.vertexList = v;
         this.edgeList = e;
+        rebuildIndexes();
         this.directionalityEnabled = dir;
         this.weightsEnabled = weights;
         this.selectedTool = tool;
@@ -1177,65 +1285,65 @@ public class Canvas {
         // Update properties panel
         propertiesPanel.removeAll();
 
-        // Counts
-        propertiesPanel.add(new JLabel("Vertices: " + vertexList.size()));
-        propertiesPanel.add(new JLabel("Edges: " + edgeList.size()));
+        // Counts, density, diameter/radius and degrees only change with the graph version
+        propertyCache.summary(graphVersion, vertexList, edgeList);
+        propertiesPanel.add(new JLabel("Vertices: " + propertyCache.vertexCount));
+        propertiesPanel.add(new JLabel("Edges: " + propertyCache.edgeCount));
 
         // Graph Density
-        double density = 0;
-        if (vertexList.size() > 1) {
-            density = (2.0 * edgeList.size()) / (vertexList.size() * (vertexList.size() - 1));
-        }
-        propertiesPanel.add(new JLabel(String.format("Density: %.2f", density)));
+        propertiesPanel.add(new JLabel(String.format("Density: %.2f", propertyCache.density)));
 
-        // Diameter / Radius (via Floyd–Warshall)
+        // Diameter / Radius (hop counts, eccentricity bounding); a range if the traversal limit stopped it early
         if (!vertexList.isEmpty()) {
-            final int INF = 1_000_000_000;
-            int[][] dist = gP.floydWarshall(vertexList, getUnweightedEdgesForAlgorithms());
-            boolean hasInf = false;
-            int diameter = 0;
-            int radius = Integer.MAX_VALUE;
-            for (int i = 0; i < vertexList.size(); i++) {
-                int ecc = 0;
-                boolean any = false;
-                for (int j = 0; j < vertexList.size(); j++) {
-                    if (i == j) continue;
-                    if (dist[i][j] >= INF) { hasInf = true; continue; }
-                    ecc = Math.max(ecc, dist[i][j]);
-                    any = true;
-                }
-                if (any) {
-                    diameter = Math.max(diameter, ecc);
-                    radius = Math.min(radius, ecc);
-                }
-            }
-            if (radius == Integer.MAX_VALUE) {
+            if (propertyCache.radius == Integer.MAX_VALUE) {
                 propertiesPanel.add(new JLabel("Diameter: N/A"));
                 propertiesPanel.add(new JLabel("Radius: N/A"));
+            } else if (propertyCache.diameterExact) {
+                propertiesPanel.add(new JLabel("Diameter: " + propertyCache.diameter));
+                propertiesPanel.add(new JLabel("Radius: " + propertyCache.radius));
             } else {
-                propertiesPanel.add(new JLabel("Diameter: " + diameter));
-                propertiesPanel.add(new JLabel("Radius: " + radius));
+                propertiesPanel.add(new JLabel("Diameter: " + propertyCache.diameter + ".." + propertyCache.diameterUpper));
+                propertiesPanel.add(new JLabel("Radius: " + propertyCache.radiusLower + ".." + propertyCache.radius));
+            }
+            propertiesPanel.add(new JLabel("Degeneracy (max core): " + propertyCache.degeneracy));
+            if (propertyCache.connectivityKnown(graphVersion)) {
+                propertiesPanel.add(new JLabel("Connectivity \u03ba: " + propertyCache.connectivity));
+            }
+            // Stoer-Wagner, once per graph version; larger graphs only get it from the Properties command
+            if (vertexList.size() <= LIVE_MIN_CUT_LIMIT) {
+                propertyCache.minimumCut(graphVersion, weightsEnabled, vertexList, edgeList);
+            }
+            if (propertyCache.minimumCutKnown(graphVersion, weightsEnabled)) {
+                propertiesPanel.add(new JLabel((weightsEnabled ? "Minimum cut weight: " : "Edge connectivity \u03bb: ")
+                        + propertyCache.edgeConnectivity + " (" + propertyCache.cutEdges.size() + " edges)"));
+            }
+            if (propertyCache.cutVerticesKnown(graphVersion)) {
+                propertiesPanel.add(new JLabel("Cut vertices: " + propertyCache.cutVertices.size()
+                        + ", bridges: " + propertyCache.bridgeCount));
             }
-            if (hasInf) {
-                propertiesPanel.add(new JLabel("Note: Graph not fully connected (unreachable pairs ignored)."));
+            // union-find, updated as edges and vertices are added: no graph search here
+            int componentCount = components.componentCount();
+            if (componentCount > 1) {
+                propertiesPanel.add(new JLabel("Note: Graph not fully connected (" + componentCount
+                        + " components; unreachable pairs ignored)."));
             }
         }
 
         // Node Degrees
-        Vertex selectedVertex = null;
-        for (Vertex v : vertexList) {
-            if (v.wasClicked) {
-                selectedVertex = v;
+        int selectedIdx = -1;
+        for (int i = 0; i < vertexList.size(); i++) {
+            if (vertexList.get(i).wasClicked) {
+                selectedIdx = i;
                 break;
             }
         }
 
-        if (selectedVertex != null) {
-            propertiesPanel.add(new JLabel("Node " + selectedVertex.name + " Degree: " + selectedVertex.getDegree()));
+        if (selectedIdx >= 0) {
+            propertiesPanel.add(new JLabel("Node " + vertexList.get(selectedIdx).name + " Degree: " + propertyCache.degrees[selectedIdx]));
         } else {
             propertiesPanel.add(new JLabel("Node Degrees (All):"));
-            for (Vertex v : vertexList) {
-                propertiesPanel.add(new JLabel("  " + v.name + ": " + v.getDegree()));
+            for (int i = 0; i < vertexList.size(); i++) {
+                propertiesPanel.add(new JLabel("  " + vertexList.get(i).name + ": " + propertyCache.degrees[i]));
             }
         }
 
@@ -1382,65 +1490,28 @@ public class Canvas {
     }
 
     private boolean hasDirectedEdge(Vertex a, Vertex b) {
-        for (Edge e : edgeList) {
-            if (e.vertex1 == a && e.vertex2 == b) return true;
-        }
-        return false;
+        return edgeIndex.contains(a, b);
     }
 
     private Edge findDirectedEdge(Vertex a, Vertex b) {
-        for (Edge e : edgeList) {
-            if (e.vertex1 == a && e.vertex2 == b) return e;
-        }
-        return null;
+        return edgeIndex.find(a, b);
     }
 
     private boolean hasAnyEdgeBetween(Vertex a, Vertex b) {
-        for (Edge e : edgeList) {
-            if ((e.vertex1 == a && e.vertex2 == b) || (e.vertex1 == b && e.vertex2 == a)) return true;
-        }
-        return false;
+        return edgeIndex.containsEither(a, b);
     }
 
-    // Build a temporary edge list for algorithm computation.
-    // If directionality is disabled, treat all edges as undirected by forcing isDirected=false.
-    private Vector<Edge> getEffectiveEdgesForAlgorithms() {
-        Vector<Edge> eff = new Vector<>();
-        for (Edge e : edgeList) {
-            Edge c = new Edge(e.vertex1, e.vertex2);
-            c.color = e.color;
-            c.weight = e.weight;
-            c.isDirected = directionalityEnabled ? e.isDirected : false;
-            eff.add(c);
-        }
-        return eff;
+    // Build a CSR snapshot for algorithm computation.
+    // If directionality is disabled, treat all edges as undirected.
+    private GraphSnapshot getEffectiveSnapshot() {
+        return new GraphSnapshot(vertexList, edgeList, directionalityEnabled);
     }
 
     // Build an unweighted, undirected view of the current edges for path algorithms: if any arc exists between a and b
     // in either direction, include a single undirected edge (weight=1). This ignores current visibility toggles, but
     // treats all connections as unit cost as requested.
-    private Vector<Edge> getUnweightedEdgesForAlgorithms() {
-        Vector<Edge> eff = new Vector<>();
-        int n = vertexList.size();
-        boolean[][] seen = new boolean[n][n];
-        for (Edge e : edgeList) {
-            int i = vertexList.indexOf(e.vertex1);
-            int j = vertexList.indexOf(e.vertex2);
-            if (i < 0 || j < 0) continue;
-            int a = Math.min(i, j), b = Math.max(i, j);
-            if (!seen[a][b]) {
-                // Check if any arc exists between these two in either direction
-                if (hasAnyEdgeBetween(vertexList.get(a), vertexList.get(b))) {
-                    Edge c = new Edge(vertexList.get(a), vertexList.get(b));
-                    c.color = e.color;
-                    c.weight = 1; // unit cost
-                    c.isDirected = false; // treat as undirected for algorithms
-                    eff.add(c);
-                    seen[a][b] = true;
-                }
-            }
-        }
-        return eff;
+    private GraphSnapshot getUnweightedSnapshot() {
+        return new GraphSnapshot(vertexList, edgeList).undirectedUnweighted();
     }
 
     // Ensure that for every pair of opposite directed edges, weights are equal before disabling directionality.
@@ -1476,18 +1547,17 @@ public class Canvas {
     // Highlight the visual edge(s) between two vertices respecting current directionality setting.
     private void highlightEdgeBetween(Vertex a, Vertex b) {
         boolean marked = false;
-        for (Edge ed : edgeList) {
-            if (ed.vertex1 == a && ed.vertex2 == b) { ed.wasClicked = true; marked = true; }
+        for (Edge ed : edgeIndex.edges(a, b)) {
+            ed.wasClicked = true; marked = true;
         }
         if (!directionalityEnabled) {
-            for (Edge ed : edgeList) {
-                if (ed.vertex1 == b && ed.vertex2 == a) { ed.wasClicked = true; }
+            for (Edge ed : edgeIndex.edges(b, a)) {
+                ed.wasClicked = true;
             }
         } else if (!marked) {
             // fallback if only reverse arc exists
-            for (Edge ed : edgeList) {
-                if (ed.vertex1 == b && ed.vertex2 == a) { ed.wasClicked = true; break; }
-            }
+            Edge ed = edgeIndex.find(b, a);
+            if (ed != null) ed.wasClicked = true;
         }
     }
 
@@ -1497,8 +1567,8 @@ public class Canvas {
         // Build existence map
         boolean[][] exist = new boolean[n][n];
         for (Edge e : edgeList) {
-            int u = vertexList.indexOf(e.vertex1);
-            int v = vertexList.indexOf(e.vertex2);
+            int u = vertexIndex.indexOf(e.vertex1);
+            int v = vertexIndex.indexOf(e.vertex2);
             if (u < 0 || v < 0) continue;
             if (directionalityEnabled) {
                 exist[u][v] = true;
@@ -1534,6 +1604,7 @@ public class Canvas {
             }
         }
         edgeList = newEdges;
+        rebuildIndexes();
         // Rebuild connectedVertices symmetrically
         for (Vertex v : vertexList) v.connectedVertices.clear();
         for (Edge e : edgeList) {
@@ -1549,25 +1620,11 @@ public class Canvas {
             JOptionPane.showMessageDialog(frame, "Graph is empty.", "Diameter/Radius", JOptionPane.INFORMATION_MESSAGE);
             return;
         }
-        int[][] dist = gP.floydWarshall(vertexList, edgeList);
-        final int INF = 1_000_000_000;
-        boolean hasInf = false;
-        int diameter = 0;
-        int radius = Integer.MAX_VALUE;
-        for (int i = 0; i < n; i++) {
-            int ecc = 0;
-            boolean any = false;
-            for (int j = 0; j < n; j++) {
-                if (i == j) continue;
-                if (dist[i][j] >= INF) { hasInf = true; continue; }
-                ecc = Math.max(ecc, dist[i][j]);
-                any = true;
-            }
-            if (any) {
-                diameter = Math.max(diameter, ecc);
-                radius = Math.min(radius, ecc);
-            }
-        }
+        // Eccentricity bounding: a handful of BFS/Dijkstra runs instead of an all-pairs matrix
+        gP.computeDiameterRadius(getEffectiveSnapshot());
+        boolean hasInf = gP.hasUnreachablePairs;
+        int diameter = gP.diameter;
+        int radius = gP.radius;
         String note = hasInf ? "\nNote: Graph is not fully connected (under current directionality). Unreachable pairs ignored." : "";
         if (radius == Integer.MAX_VALUE) {
             JOptionPane.showMessageDialog(frame, "No finite paths between vertices." + note, "Diameter/Radius", JOptionPane.INFORMATION_MESSAGE);
@@ -1763,6 +1820,7 @@ public class Canvas {
                 Vertex v = new Vertex(names.get(i), 100, 100);
                 vertexList.add(v);
             }
+            rebuildIndexes();
 
             boolean directed = chkDirected.isSelected();
             boolean withWeights = chkWeights.isSelected();
@@ -1866,6 +1924,8 @@ public class Canvas {
                 }
             }
 
+            rebuildIndexes();
+
             // Apply toggles to match user choice
             directionalityEnabled = directed;
             weightsEnabled = withWeights;
@@ -0,0 +1,111 @@
+package graphtheory;
+
+import java.util.Arrays;
+import java.util.Vector;
+
+/**
+ * Connected components of the canvas graph (edge directions ignored), kept up
+ * to date by a union-find with path compression and union by rank. Adding a
+ * vertex or an edge is an O(alpha(n)) update; removals cannot be undone in a
+ * union-find, so they only mark the tracker stale and the next query rebuilds
+ * it from the lists in O(V + E alpha(n)).
+ *
+ * Vertices are addressed by Vertex.id, so the tracker must be rebuilt
+ * whenever the VertexIndex is.
+ */
+public class ComponentTracker {
+
+    private Vector<Vertex> vList = new Vector<Vertex>();
+    private Vector<Edge> eList = new Vector<Edge>();
+    private int[] parent = new int[16];
+    private int[] rank = new int[16];
+    private int size;
+    private int components;
+    private boolean stale;
+
+    // Start over from these lists; ids must match their vertex positions
+    public void rebuild(Vector<Vertex> vList, Vector<Edge> eList) {
+        this.vList = vList;
+        this.eList = eList;
+        stale = true;
+    }
+
+    // Call after removing vertices or edges
+    public void invalidate() {
+        stale = true;
+    }
+
+    public void addVertex(Vertex v) {
+        if (stale) return;
+        add(v.id);
+    }
+
+    public void addEdge(Edge e) {
+        if (stale) return;
+        union(e.vertex1.id, e.vertex2.id);
+    }
+
+    public int componentCount() {
+        refresh();
+        return components;
+    }
+
+    // Representative id of v's component: equal for two vertices exactly when they are connected
+    public int componentOf(Vertex v) {
+        refresh();
+        return find(v.id);
+    }
+
+    public boolean connected(Vertex a, Vertex b) {
+        return componentOf(a) == componentOf(b);
+    }
+
+    private void refresh() {
+        if (!stale) return;
+        size = 0;
+        components = 0;
+        for (int i = 0; i < vList.size(); i++) {
+            add(i);
+        }
+        for (Edge e : eList) {
+            union(e.vertex1.id, e.vertex2.id);
+        }
+        stale = false;
+    }
+
+    private void add(int id) {
+        if (id >= parent.length) {
+            int cap = Math.max(2 * parent.length, id + 1);
+            parent = Arrays.copyOf(parent, cap);
+            rank = Arrays.copyOf(rank, cap);
+        }
+        for (; size <= id; size++) {
+            parent[size] = size;
+            rank[size] = 0;
+            components++;
+        }
+    }
+
+    private int find(int x) {
+        int root = x;
+        while (parent[root] != root) root = parent[root];
+        while (parent[x] != root) {
+            int next = parent[x];
+            parent[x] = root;
+            x = next;
+        }
+        return root;
+    }
+
+    private void union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a == b) return;
+        if (rank[a] < rank[b]) {
+            int t = a; a = b; b = t;
+        }
+        parent[b] = a;
+        if (rank[a] == rank[b]) rank[a]++;
+        components--;
+    }
+}
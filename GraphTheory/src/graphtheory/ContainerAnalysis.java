@@ -0,0 +1,89 @@
+package graphtheory;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Evaluates every vertex pair of a graph with WideDistanceEngine on a
+ * ForkJoinPool. Each worker thread owns an engine (and so its own residual
+ * network, heap and scratch arrays); pair results go to disjoint slots of the
+ * result array and the wide diameters D_k(G) are merged with a lock-free CAS
+ * max, so workers never wait on each other. Setting the cancelled flag makes
+ * every worker stop after its current pair.
+ */
+public class ContainerAnalysis {
+
+    private final ForkJoinPool pool;
+
+    public ContainerAnalysis() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ContainerAnalysis(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public ContainerReport analyze(GraphSnapshot graph) {
+        return analyze(graph, new AtomicBoolean());
+    }
+
+    // null if cancelled was set before every pair was done
+    public ContainerReport analyze(GraphSnapshot graph, final AtomicBoolean cancelled) {
+        final GraphSnapshot g = graph.undirectedUnweighted();
+        final int n = g.n;
+        final ContainerReport.PairResult[] pairs = new ContainerReport.PairResult[n * (n - 1) / 2];
+        // no pair is wider than the largest degree
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            maxDegree = Math.max(maxDegree, g.outDegree(v));
+        }
+        final AtomicLongArray lower = new AtomicLongArray(maxDegree + 1);
+        final AtomicLongArray upper = new AtomicLongArray(maxDegree + 1);
+        for (int k = 0; k <= maxDegree; k++) {
+            lower.set(k, -1);
+            upper.set(k, -1);
+        }
+        final ThreadLocal<WideDistanceEngine> engines = new ThreadLocal<WideDistanceEngine>() {
+            @Override protected WideDistanceEngine initialValue() { return new WideDistanceEngine(g); }
+        };
+
+        long start = System.nanoTime();
+        pool.invoke(new ParallelShortestPaths.SourceRange(0, n, new ParallelShortestPaths.RowJob() {
+            public void row(int a) {
+                WideDistanceEngine engine = engines.get();
+                for (int b = a + 1; b < n; b++) {
+                    if (cancelled.get()) return;
+                    int width = engine.analyze(a, b);
+                    for (int k = 1; k <= width; k++) {
+                        max(lower, k, engine.lower[k]);
+                        max(upper, k, engine.upper[k]);
+                    }
+                    int[][] container = width == 0 ? new int[0][] : engine.container(width);
+                    pairs[ContainerReport.pairIndex(n, a, b)] =
+                            new ContainerReport.PairResult(a, b, width, engine.lower, engine.upper, container);
+                }
+            }
+        }));
+        long elapsed = System.nanoTime() - start;
+        if (cancelled.get()) return null;
+
+        int maxWidth = 0;
+        while (maxWidth < maxDegree && lower.get(maxWidth + 1) >= 0) maxWidth++;
+        long[] wideLower = new long[maxWidth + 1];
+        long[] wideUpper = new long[maxWidth + 1];
+        for (int k = 1; k <= maxWidth; k++) {
+            wideLower[k] = lower.get(k);
+            wideUpper[k] = upper.get(k);
+        }
+        return new ContainerReport(graph, pairs, wideLower, wideUpper, elapsed, pool.getParallelism());
+    }
+
+    // Lock-free running maximum: retry the CAS only while v would still raise the slot
+    private static void max(AtomicLongArray slots, int i, long v) {
+        long cur = slots.get(i);
+        while (v > cur && !slots.compareAndSet(i, cur, v)) {
+            cur = slots.get(i);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package graphtheory;
+
+import java.io.PrintStream;
+
+/**
+ * Result of a ContainerAnalysis run: k-wide distance bounds and a widest
+ * container for every vertex pair, plus the wide diameters D_k(G). Values are
+ * stored as lower/upper bounds that coincide whenever the distance is exact.
+ */
+public class ContainerReport {
+
+    public static class PairResult {
+        public final int a, b;
+        public final int width;
+        public final long[] lower;     // indexed by k = 1 .. width
+        public final long[] upper;
+        public final int[][] container; // a width-container with longest path upper[width], or empty
+
+        PairResult(int a, int b, int width, long[] lower, long[] upper, int[][] container) {
+            this.a = a;
+            this.b = b;
+            this.width = width;
+            this.lower = lower;
+            this.upper = upper;
+            this.container = container;
+        }
+    }
+
+    public final GraphSnapshot graph;
+    public final PairResult[] pairs;  // pair (a, b), a < b, at pairIndex(a, b)
+    public final long[] wideLower;    // D_k(G) bounds, indexed by k = 1 .. maxWidth
+    public final long[] wideUpper;
+    public final int maxWidth;
+    public final long elapsedNanos;
+    public final int parallelism;
+
+    ContainerReport(GraphSnapshot graph, PairResult[] pairs, long[] wideLower, long[] wideUpper,
+                    long elapsedNanos, int parallelism) {
+        this.graph = graph;
+        this.pairs = pairs;
+        this.wideLower = wideLower;
+        this.wideUpper = wideUpper;
+        this.maxWidth = wideLower.length - 1;
+        this.elapsedNanos = elapsedNanos;
+        this.parallelism = parallelism;
+    }
+
+    public int pairIndex(int a, int b) {
+        return pairIndex(graph.n, a, b);
+    }
+
+    static int pairIndex(int n, int a, int b) {
+        return (int) ((long) a * (2L * n - a - 1) / 2) + (b - a - 1);
+    }
+
+    public PairResult pair(int a, int b) {
+        return a < b ? pairs[pairIndex(a, b)] : pairs[pairIndex(b, a)];
+    }
+
+    // Same layout as the old per-pair console dump, written once the analysis has finished
+    public void print(PrintStream out) {
+        for (PairResult p : pairs) {
+            String va = graph.vertices[p.a].name, vb = graph.vertices[p.b].name;
+            out.println(">Vertex Pair " + va + "-" + vb + " - Width=" + p.width);
+            for (int k = 1; k <= p.width; k++) {
+                out.println(k + "-wide for vertexpair(" + va + "-" + vb + ")=" + range(p.lower[k], p.upper[k]));
+            }
+            if (p.width == 0) continue;
+            out.println("\tContainer 0 - Width=" + p.width + " - Length=" + p.upper[p.width]);
+            for (int j = 0; j < p.container.length; j++) {
+                StringBuilder line = new StringBuilder("\t\tPath " + j + "\n\t\t\t");
+                for (int v : p.container[j]) {
+                    line.append('-').append(graph.vertices[v].name);
+                }
+                out.println(line);
+            }
+        }
+        for (int k = 1; k <= maxWidth; k++) {
+            out.println("D" + k + "(G)=" + range(wideLower[k], wideUpper[k]));
+        }
+        out.println(String.format("Containers: %d pairs in %.1f ms on %d threads",
+                pairs.length, elapsedNanos / 1e6, parallelism));
+    }
+
+    static String range(long lower, long upper) {
+        return lower == upper ? "" + lower : "[" + lower + ", " + upper + "]";
+    }
+}
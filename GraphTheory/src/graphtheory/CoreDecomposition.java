@@ -0,0 +1,108 @@
+package graphtheory;
+
+/**
+ * k-core decomposition by Batagelj-Zaversnik bucket peeling in O(V + E).
+ * Vertices sit in an array sorted by current degree, with the start of each
+ * degree bucket recorded; removing the vertex of least degree and moving each
+ * of its remaining neighbours down one bucket is a constant-time swap, so no
+ * re-sorting is ever needed.
+ *
+ * The core number of v is the largest k such that v lies in a subgraph of
+ * minimum degree k. The peeling order is a degeneracy ordering: every vertex
+ * has at most degeneracy neighbours later in it, which bounds cliques
+ * (at most degeneracy + 1 vertices) and vertex connectivity (at most the
+ * smallest core number, the minimum degree).
+ */
+public class CoreDecomposition {
+
+    public final GraphSnapshot g;   // the undirected copy peeled
+    public final int[] core;        // core number per vertex
+    public final int[] order;       // peeling (degeneracy) order
+    public int degeneracy;          // largest core number
+    public int minCore;             // smallest core number, the minimum degree
+
+    public CoreDecomposition(GraphSnapshot g) {
+        this.g = g.undirectedUnweighted();
+        int n = this.g.n;
+        core = new int[n];
+        order = new int[n];
+        compute();
+    }
+
+    // Vertices of the k-core as a membership mask
+    public boolean[] kCore(int k) {
+        boolean[] in = new boolean[g.n];
+        for (int v = 0; v < g.n; v++) {
+            in[v] = core[v] >= k;
+        }
+        return in;
+    }
+
+    public int cliqueUpperBound() {
+        return g.n == 0 ? 0 : degeneracy + 1;
+    }
+
+    private void compute() {
+        int n = g.n;
+        int[] offsets = g.offsets, targets = g.targets;
+        int[] deg = core; // degrees are peeled down in place into core numbers
+        int maxDeg = 0;
+        for (int v = 0; v < n; v++) {
+            int d = 0;
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                if (targets[a] != v) d++;
+            }
+            deg[v] = d;
+            maxDeg = Math.max(maxDeg, d);
+        }
+
+        // bin[d]: first position of degree d in vert; pos[v]: position of v in vert
+        int[] bin = new int[maxDeg + 1];
+        for (int v = 0; v < n; v++) {
+            bin[deg[v]]++;
+        }
+        for (int d = 0, start = 0; d <= maxDeg; d++) {
+            int count = bin[d];
+            bin[d] = start;
+            start += count;
+        }
+        int[] vert = order;
+        int[] pos = new int[n];
+        for (int v = 0; v < n; v++) {
+            pos[v] = bin[deg[v]]++;
+            vert[pos[v]] = v;
+        }
+        for (int d = maxDeg; d > 0; d--) {
+            bin[d] = bin[d - 1];
+        }
+        bin[0] = 0;
+
+        for (int i = 0; i < n; i++) {
+            int v = vert[i];
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                int u = targets[a];
+                if (u == v || deg[u] <= deg[v]) continue;
+                // move u to the front of its bucket, then shrink the bucket past it
+                int du = deg[u];
+                int pu = pos[u];
+                int pw = bin[du];
+                int w = vert[pw];
+                if (u != w) {
+                    pos[u] = pw;
+                    vert[pu] = w;
+                    pos[w] = pu;
+                    vert[pw] = u;
+                }
+                bin[du]++;
+                deg[u]--;
+            }
+        }
+
+        degeneracy = 0;
+        minCore = n == 0 ? 0 : Integer.MAX_VALUE;
+        for (int v = 0; v < n; v++) {
+            degeneracy = Math.max(degeneracy, core[v]);
+            minCore = Math.min(minCore, core[v]);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package graphtheory;
+
+import java.util.Arrays;
+
+/**
+ * Single-source Dijkstra over a GraphSnapshot using an indexed binary heap with
+ * decrease-key. All scratch arrays are allocated once per engine, so repeated
+ * runs (one per source for all-pairs) do not allocate. Negative weights are
+ * clamped to 0, matching the previous array-scan implementation.
+ */
+public class DijkstraEngine {
+
+    public static final int INF = 1_000_000_000;
+
+    private final GraphSnapshot g;
+    private final int[] dist;
+    private final int[] prev;
+    private final IndexedHeap heap;
+
+    public DijkstraEngine(GraphSnapshot g) {
+        this.g = g;
+        dist = new int[g.n];
+        prev = new int[g.n];
+        heap = new IndexedHeap(g.n);
+    }
+
+    public void run(int source) {
+        Arrays.fill(dist, INF);
+        Arrays.fill(prev, -1);
+        heap.clear();
+        dist[source] = 0;
+        heap.push(source, 0);
+
+        int[] offsets = g.offsets, targets = g.targets, weights = g.weights;
+        while (!heap.isEmpty()) {
+            int u = heap.pop();
+            int du = dist[u];
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int v = targets[a];
+                long nd = (long) du + Math.max(0, weights[a]);
+                if (nd < dist[v]) {
+                    dist[v] = (int) nd;
+                    prev[v] = u;
+                    heap.push(v, nd);
+                }
+            }
+        }
+    }
+
+    // Distances of the last run; INF marks unreachable vertices. Overwritten by the next run.
+    public int[] distances() {
+        return dist;
+    }
+
+    // Predecessors of the last run; -1 denotes none. Overwritten by the next run.
+    public int[] predecessors() {
+        return prev;
+    }
+}
@@ -0,0 +1,149 @@
+package graphtheory;
+
+import java.util.Arrays;
+
+/**
+ * Internally vertex-disjoint paths between two vertices by Menger's theorem.
+ * Over the vertex-split SplitNetwork a maximum s_out -> t_in flow (Dinic,
+ * unit capacities) is the largest number of paths that share no interior
+ * vertex. The flow is then decomposed into one witness container.
+ *
+ * The network is built once per snapshot; maxPaths() only resets the flow,
+ * so evaluating many pairs does not allocate.
+ */
+public class DisjointPathsEngine {
+
+    private final SplitNetwork net;
+    private final int[] level;
+    private final int[] iter;
+    private final int[] queue;
+    private final int[] stack;   // edges of the augmenting path being built
+    private int source, sink, flow;
+
+    // g is read as given; pass undirectedUnweighted() for the usual undirected notion
+    public DisjointPathsEngine(GraphSnapshot g) {
+        net = new SplitNetwork(g);
+        level = new int[net.nodes];
+        iter = new int[net.nodes];
+        queue = new int[net.nodes];
+        stack = new int[net.nodes];
+    }
+
+    // Maximum number of internally vertex-disjoint s-t paths (a direct s-t edge counts as one)
+    public int maxPaths(int s, int t) {
+        return maxPaths(s, t, Integer.MAX_VALUE);
+    }
+
+    // As maxPaths(s, t), but gives up as soon as limit paths are found; a result below limit is exact
+    public int maxPaths(int s, int t, int limit) {
+        net.reset();
+        source = 2 * s + 1;
+        sink = 2 * t;
+        flow = 0;
+        if (s == t) return 0;
+        while (buildLevels()) {
+            System.arraycopy(net.start, 0, iter, 0, net.nodes);
+            while (augment()) {
+                if (++flow >= limit) return flow;
+            }
+        }
+        return flow;
+    }
+
+    // Witness container of the last maxPaths() call: flow() paths as vertex indices from s to t,
+    // pairwise sharing no vertex other than s and t
+    public int[][] container() {
+        return net.paths(source >> 1, sink >> 1, flow);
+    }
+
+    // Minimum s-t vertex separator of the last complete maxPaths() call, given s and t are not adjacent:
+    // the cut between the nodes still reachable from s_out in the residual network and the rest. A cut
+    // edge u_out -> w_in is charged to w (or to u when w is t), which blocks the same paths.
+    public int[] separatingSet() {
+        int[] start = net.start, head = net.head, cap = net.cap;
+        boolean[] reached = new boolean[net.nodes];
+        int qh = 0, qt = 0;
+        queue[qt++] = source;
+        reached[source] = true;
+        while (qh < qt) {
+            int x = queue[qh++];
+            for (int e = start[x]; e < start[x + 1]; e++) {
+                if (cap[e] > 0 && !reached[head[e]]) {
+                    reached[head[e]] = true;
+                    queue[qt++] = head[e];
+                }
+            }
+        }
+        boolean[] cut = new boolean[net.g.n];
+        int size = 0;
+        for (int x = 0; x < net.nodes; x++) {
+            if (!reached[x]) continue;
+            for (int e = start[x]; e < start[x + 1]; e++) {
+                if (!net.forward[e] || reached[head[e]]) continue;
+                int y = head[e];
+                int v = (x & 1) == 0 ? x >> 1 : (y != sink ? y >> 1 : x >> 1);
+                if (!cut[v]) {
+                    cut[v] = true;
+                    size++;
+                }
+            }
+        }
+        int[] set = new int[size];
+        for (int v = 0, i = 0; v < cut.length; v++) {
+            if (cut[v]) set[i++] = v;
+        }
+        return set;
+    }
+
+    public int flow() {
+        return flow;
+    }
+
+    private boolean buildLevels() {
+        int[] start = net.start, head = net.head, cap = net.cap;
+        Arrays.fill(level, -1);
+        int qh = 0, qt = 0;
+        queue[qt++] = source;
+        level[source] = 0;
+        while (qh < qt) {
+            int x = queue[qh++];
+            if (level[sink] >= 0 && level[x] >= level[sink]) break; // nothing deeper can be on a shortest path
+            for (int e = start[x]; e < start[x + 1]; e++) {
+                if (cap[e] > 0 && level[head[e]] < 0) {
+                    level[head[e]] = level[x] + 1;
+                    queue[qt++] = head[e];
+                }
+            }
+        }
+        return level[sink] >= 0;
+    }
+
+    // One unit of flow along a level-increasing path, found with an explicit stack; false if blocked
+    private boolean augment() {
+        int[] start = net.start, head = net.head, rev = net.rev, cap = net.cap;
+        int depth = 0;
+        int x = source;
+        while (x != sink) {
+            int e = iter[x];
+            int end = start[x + 1];
+            while (e < end && (cap[e] == 0 || level[head[e]] != level[x] + 1)) e++;
+            iter[x] = e;
+            if (e == end) {
+                // dead end: retreat and never try this node again in this phase
+                level[x] = -1;
+                if (depth == 0) return false;
+                int back = stack[--depth];
+                x = head[rev[back]];
+                iter[x]++;
+                continue;
+            }
+            stack[depth++] = e;
+            x = head[e];
+        }
+        for (int i = 0; i < depth; i++) {
+            cap[stack[i]]--;
+            cap[rev[stack[i]]]++;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,211 @@
+package graphtheory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+
+/**
+ * Exact diameter and radius of an undirected (symmetric) graph without
+ * all-pairs distances, using the Takes-Kosters bounding algorithm. Each
+ * traversal from v tightens, for every w of the same component,
+ * max(d(v,w), ecc(v) - d(v,w)) <= ecc(w) <= ecc(v) + d(v,w). Vertices whose
+ * bounds can no longer move the diameter or radius are dropped, and the next
+ * source alternates between the largest upper and the smallest lower bound,
+ * after a double sweep from the highest degree vertex. Unit weights use BFS,
+ * anything else Dijkstra (negative weights read as 0, as in DijkstraEngine).
+ *
+ * Each component is bounded on its own; vertices that reach nobody are ignored,
+ * matching the diameter/radius over connected pairs shown by the canvas.
+ */
+public class EccentricityEngine {
+
+    private final GraphSnapshot g;
+    private final boolean unit;
+    private final int[] dist;
+    private final int[] queue;
+    private final int[] order; // BFS order of the last unit-weight sweep
+    private int visited;
+    private DijkstraEngine dijkstra;
+
+    // Results of the last compute(): diameter is a lower and radius an upper bound,
+    // equal to the exact values when exact is true
+    public int diameter;
+    public int diameterUpper;
+    public int radius = Integer.MAX_VALUE;
+    public int radiusLower = Integer.MAX_VALUE;
+    public boolean exact;
+    public boolean hasUnreachablePairs;
+    public int traversals;
+
+    public EccentricityEngine(GraphSnapshot g) {
+        this.g = g;
+        boolean allOnes = true;
+        for (int w : g.weights) {
+            if (w != 1) { allOnes = false; break; }
+        }
+        unit = allOnes;
+        dist = new int[g.n];
+        Arrays.fill(dist, -1);
+        queue = new int[g.n];
+        order = new int[g.n];
+    }
+
+    public void computeExact() {
+        compute(Integer.MAX_VALUE);
+    }
+
+    // Runs at most maxTraversals (>= 1) BFS/Dijkstra passes per component. If the budget runs out the answer
+    // is the pair of bounds diameter <= D <= diameterUpper and radiusLower <= R <= radius; one pass already
+    // gives diameterUpper <= 2 * diameter. Returns exact.
+    public boolean compute(int maxTraversals) {
+        int n = g.n;
+        diameter = 0;
+        diameterUpper = 0;
+        radius = Integer.MAX_VALUE;
+        radiusLower = Integer.MAX_VALUE;
+        traversals = 0;
+        exact = true;
+
+        int[] comp = new int[n];
+        Arrays.fill(comp, -1);
+        int components = 0;
+        ArrayList<int[]> pending = new ArrayList<int[]>();
+        for (int s = 0; s < n; s++) {
+            if (comp[s] != -1) continue;
+            // Collect the component of s with a plain BFS; queue[0 .. tail) ends up holding its members
+            int head = 0, tail = 0;
+            queue[tail++] = s;
+            comp[s] = components;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int a = g.offsets[u]; a < g.offsets[u + 1]; a++) {
+                    int v = g.targets[a];
+                    if (comp[v] == -1) {
+                        comp[v] = components;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            components++;
+            if (tail > 1) pending.add(Arrays.copyOf(queue, tail));
+        }
+        // Smallest components first: the diameter and radius they settle prune the larger ones
+        Collections.sort(pending, new Comparator<int[]>() {
+            public int compare(int[] a, int[] b) { return Integer.compare(a.length, b.length); }
+        });
+        for (int[] members : pending) {
+            boundComponent(members, maxTraversals);
+        }
+        hasUnreachablePairs = components > 1;
+        return exact;
+    }
+
+    private void boundComponent(int[] cand, int maxTraversals) {
+        int size = cand.length;
+        int[] lower = new int[size];
+        int[] upper = new int[size];
+        Arrays.fill(upper, Integer.MAX_VALUE);
+        // Bounds already settled by other components count towards pruning this one
+        int dLow = diameter, rHigh = radius;
+        int dHigh = Integer.MAX_VALUE, rLow = 0;
+
+        // Start at the highest degree vertex, then sweep again from the farthest vertex it finds
+        int pick = 0;
+        for (int i = 1; i < size; i++) {
+            if (g.outDegree(cand[i]) > g.outDegree(cand[pick])) pick = i;
+        }
+        boolean wantHigh = true;
+        int live = size;
+        for (int round = 0; live > 0 && round < maxTraversals; round++) {
+            int ecc = sweep(cand[pick]);
+            traversals++;
+            dLow = Math.max(dLow, ecc);
+            rHigh = Math.min(rHigh, ecc);
+
+            // Tighten every live candidate; a vertex whose bounds meet is known exactly
+            int farthest = -1;
+            for (int i = 0; i < live; i++) {
+                int d = dist[cand[i]];
+                if (farthest < 0 || d > dist[cand[farthest]]) farthest = i;
+                lower[i] = Math.max(lower[i], Math.max(d, ecc - d));
+                upper[i] = Math.min(upper[i], ecc + d);
+                if (lower[i] == upper[i]) {
+                    dLow = Math.max(dLow, lower[i]);
+                    rHigh = Math.min(rHigh, lower[i]);
+                }
+            }
+            int farthestVertex = cand[farthest];
+
+            // Drop the candidates that can no longer raise the diameter or lower the radius
+            int next = 0;
+            dHigh = dLow;
+            rLow = rHigh;
+            for (int i = 0; i < live; i++) {
+                if (lower[i] == upper[i] || (upper[i] <= dLow && lower[i] >= rHigh)) continue;
+                cand[next] = cand[i];
+                lower[next] = lower[i];
+                upper[next] = upper[i];
+                dHigh = Math.max(dHigh, upper[i]);
+                rLow = Math.min(rLow, lower[i]);
+                next++;
+            }
+            live = next;
+            if (live == 0) break;
+
+            // Second pass of the double sweep, then alternate between the two bounds
+            pick = -1;
+            if (round == 0) {
+                for (int i = 0; i < live; i++) {
+                    if (cand[i] == farthestVertex) pick = i;
+                }
+            }
+            if (pick < 0) {
+                pick = 0;
+                for (int i = 1; i < live; i++) {
+                    if (wantHigh ? upper[i] > upper[pick] : lower[i] < lower[pick]) pick = i;
+                }
+                wantHigh = !wantHigh;
+            }
+        }
+        if (live > 0) exact = false;
+        diameter = Math.max(diameter, dLow);
+        diameterUpper = Math.max(diameterUpper, live > 0 ? dHigh : dLow);
+        radius = Math.min(radius, rHigh);
+        radiusLower = Math.min(radiusLower, live > 0 ? rLow : rHigh);
+    }
+
+    // Distances from v into dist (its component only); returns ecc(v)
+    private int sweep(int v) {
+        if (!unit) {
+            if (dijkstra == null) dijkstra = new DijkstraEngine(g);
+            dijkstra.run(v);
+            int[] d = dijkstra.distances();
+            int ecc = 0;
+            for (int w = 0; w < g.n; w++) {
+                dist[w] = d[w];
+                if (d[w] < DijkstraEngine.INF) ecc = Math.max(ecc, d[w]);
+            }
+            return ecc;
+        }
+        // Only the previous sweep's vertices need resetting, so small components stay cheap
+        for (int i = 0; i < visited; i++) {
+            dist[order[i]] = -1;
+        }
+        int head = 0, tail = 0;
+        order[tail++] = v;
+        dist[v] = 0;
+        while (head < tail) {
+            int u = order[head++];
+            for (int a = g.offsets[u]; a < g.offsets[u + 1]; a++) {
+                int w = g.targets[a];
+                if (dist[w] < 0) {
+                    dist[w] = dist[u] + 1;
+                    order[tail++] = w;
+                }
+            }
+        }
+        visited = tail;
+        return dist[order[tail - 1]];
+    }
+}
@@ -0,0 +1,73 @@
+package graphtheory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Vector;
+
+/**
+ * Hash index of edges keyed by (vertex1.id, vertex2.id). Answers "is there an
+ * edge a -> b" in O(1) as long as the vertex ids are current; rebuild it
+ * whenever the vertex ids are reassigned.
+ */
+public class EdgeIndex {
+
+    private final HashMap<Long, ArrayList<Edge>> arcs;
+
+    public EdgeIndex(Vector<Edge> eList) {
+        arcs = new HashMap<Long, ArrayList<Edge>>(eList.size() * 2);
+        for (Edge e : eList) {
+            add(e);
+        }
+    }
+
+    private static long key(Vertex a, Vertex b) {
+        return ((long) a.id << 32) | (b.id & 0xffffffffL);
+    }
+
+    public void add(Edge e) {
+        if (e.vertex1 == null || e.vertex2 == null) return;
+        long k = key(e.vertex1, e.vertex2);
+        ArrayList<Edge> bucket = arcs.get(k);
+        if (bucket == null) {
+            bucket = new ArrayList<Edge>(1);
+            arcs.put(k, bucket);
+        }
+        bucket.add(e);
+    }
+
+    public void remove(Edge e) {
+        if (e.vertex1 == null || e.vertex2 == null) return;
+        long k = key(e.vertex1, e.vertex2);
+        ArrayList<Edge> bucket = arcs.get(k);
+        if (bucket == null) return;
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.get(i) == e) {
+                bucket.remove(i);
+                break;
+            }
+        }
+        if (bucket.isEmpty()) arcs.remove(k);
+    }
+
+    // All edges a -> b, in insertion order
+    public List<Edge> edges(Vertex a, Vertex b) {
+        ArrayList<Edge> bucket = arcs.get(key(a, b));
+        return bucket == null ? Collections.<Edge>emptyList() : bucket;
+    }
+
+    // First edge a -> b, or null
+    public Edge find(Vertex a, Vertex b) {
+        ArrayList<Edge> bucket = arcs.get(key(a, b));
+        return bucket == null ? null : bucket.get(0);
+    }
+
+    public boolean contains(Vertex a, Vertex b) {
+        return arcs.containsKey(key(a, b));
+    }
+
+    public boolean containsEither(Vertex a, Vertex b) {
+        return contains(a, b) || contains(b, a);
+    }
+}
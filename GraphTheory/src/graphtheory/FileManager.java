@@ -6,15 +6,17 @@ package graphtheory;
 
 import java.awt.Point;
 import java.awt.Color;
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.io.Writer;
-import java.util.Scanner;
+import java.io.StringReader;
+import java.util.HashSet;
 import java.util.Vector;
 import javax.swing.JFileChooser;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 /**
  *
@@ -26,365 +28,228 @@ public class FileManager {
 
     public FileManager() {
         jF = new JFileChooser();
+        jF.addChoosableFileFilter(new FileNameExtensionFilter("Binary graph (*.gtb)", BinaryGraphFormat.EXTENSION));
+        jF.setFileFilter(jF.getAcceptAllFileFilter());
 
 
     }
 
-    public void saveFile(Vector<Vertex> vList, File fName) {
-        try {
-            BufferedWriter out = new BufferedWriter(new FileWriter(fName));
+    // First line of a v2 file. v1 files start with the vertex count and carry a V x V adjacency matrix.
+    public static final String FORMAT_V2 = "GRAPHTHEORY 2";
 
-            out.write(""+vList.size());
-            out.newLine();
-            for (Vertex v : vList) {
-                out.write(v.name);
-                out.newLine();
-            }
-            for (int i = 0; i < vList.size(); i++) {
-                for (int j = 0; j < vList.size(); j++) {
-                    if (vList.get(i).connectedToVertex(vList.get(j))) {
-                        out.write("1");
-                    } else {
-                        out.write("0");
-                    }
-                }
-                out.newLine();
-            }
-            for (int k = 0; k < vList.size(); k++) {
-                out.write(vList.get(k).location.x + "," + vList.get(k).location.y);
-                out.newLine();
-            }
-            out.close();
+    /*
+     * v2 text format, O(V + E) to write and read:
+     *   GRAPHTHEORY 2
+     *   <vertex count>
+     *   <name>            one line per vertex
+     *   <x>,<y>           one line per vertex
+     *   VERTEX_COLORS
+     *   <r>,<g>,<b>       one line per vertex
+     *   EDGES
+     *   <entry count>
+     *   <i1>,<i2>,<directed>,<weight>,<r>,<g>,<b>
+     * Edge entries follow the v1 EDGES section: an undirected edge is saved as two directed entries.
+     */
 
-        } catch (IOException e) {
-            System.out.println(e);
+    // Topology from the connectedVertices lists, one undirected entry per adjacent pair
+    public void saveFile(Vector<Vertex> vList, File fName) {
+        VertexIndex index = new VertexIndex(vList);
+        Vector<Edge> eList = new Vector<Edge>();
+        for (int i = 0; i < vList.size(); i++) {
+            Vertex v = vList.get(i);
+            for (Vertex c : v.connectedVertices) {
+                if (index.indexOf(c) >= i) eList.add(new Edge(v, c));
+            }
         }
-
+        saveFile(vList, eList, fName);
     }
 
-    // New format that appends a VERTEX_COLORS section and an EDGES section after positions to persist colors, directionality and weights
+    // Writes the v2 format: names, positions, colors and the edge list, without the adjacency matrix.
+    // A .gtb file name selects the binary format instead.
     public void saveFile(Vector<Vertex> vList, Vector<Edge> eList, File fName) {
-        try {
-            BufferedWriter out = new BufferedWriter(new FileWriter(fName));
-
-            out.write(""+vList.size());
-            out.newLine();
-            for (Vertex v : vList) {
-                out.write(v.name);
-                out.newLine();
-            }
-            // adjacency matrix remains for backward compatibility
-            for (int i = 0; i < vList.size(); i++) {
-                for (int j = 0; j < vList.size(); j++) {
-                    if (vList.get(i).connectedToVertex(vList.get(j))) {
-                        out.write("1");
-                    } else {
-                        out.write("0");
-                    }
-                }
-                out.newLine();
-            }
-            // positions
-            for (int k = 0; k < vList.size(); k++) {
-                out.write(vList.get(k).location.x + "," + vList.get(k).location.y);
-                out.newLine();
-            }
-
-            // VERTEX_COLORS section
-            out.write("VERTEX_COLORS");
-            out.newLine();
-            for (Vertex v : vList) {
-                Color c = v.color != null ? v.color : Color.BLACK;
-                out.write(c.getRed() + "," + c.getGreen() + "," + c.getBlue());
-                out.newLine();
+        if (BinaryGraphFormat.isBinaryFile(fName)) {
+            try {
+                BinaryGraphFormat.save(vList, eList, fName);
+            } catch (IOException ex) {
+                System.out.println(ex);
             }
-
-            // EDGES section
-            out.write("EDGES");
-            out.newLine();
-            // Count entries: each directed edge counts as 1; each undirected edge will be saved as TWO directed entries (both directions)
-            int edgeEntries = 0;
-            for (Edge e : eList) {
-                if (e.vertex1 == null || e.vertex2 == null) continue;
-                edgeEntries += (e.isDirected ? 1 : 2);
-            }
-            out.write(Integer.toString(edgeEntries));
-            out.newLine();
-            for (Edge e : eList) {
-                int i1 = vList.indexOf(e.vertex1);
-                int i2 = vList.indexOf(e.vertex2);
-                if (i1 < 0 || i2 < 0) continue; // skip inconsistent
-                Color c = e.color != null ? e.color : Color.BLACK;
-                if (e.isDirected) {
-                    out.write(i1 + "," + i2 + ",1," + e.weight + "," + c.getRed() + "," + c.getGreen() + "," + c.getBlue());
-                    out.newLine();
-                } else {
-                    // Save as two directed entries with same weight/color so users can edit directions independently later
-                    out.write(i1 + "," + i2 + ",1," + e.weight + "," + c.getRed() + "," + c.getGreen() + "," + c.getBlue());
-                    out.newLine();
-                    out.write(i2 + "," + i1 + ",1," + e.weight + "," + c.getRed() + "," + c.getGreen() + "," + c.getBlue());
-                    out.newLine();
-                }
-            }
-            out.close();
+            return;
+        }
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(fName))) {
+            write(out, vList, eList);
         } catch (IOException ex) {
             System.out.println(ex);
         }
     }
 
-    public Vector<Vector<?>> loadFile(File fName) {
-        Vector<Vertex> vertexList = new Vector<Vertex>();
-        Vector<Edge> edgeList = new Vector<Edge>();
-        Vector<Vector<?>> file = new Vector<>();
-        try (Scanner data = new Scanner(new FileReader(fName.toString()))) {
-            if (data.hasNext()) {
-                int size = Integer.parseInt(data.nextLine());
-                for (int i = 0; i < size; i++) {//vertex only
-                    Vertex v = new Vertex(data.nextLine(), 0, 0);
-                    vertexList.add(v);
-                }
-
-                for (int j = 0; j < vertexList.size(); j++) { // adjacency list
-                    String adjacencyLine = data.nextLine();
-                    System.out.println(adjacencyLine);
-                    for (int k = 0; k < vertexList.size(); k++) {
-                        if (adjacencyLine.charAt(k) == '1') {
-                            vertexList.get(j).addVertex(vertexList.get(k));
-                        }
-                    }
-
-
-                    for (int l = j + 1; l < vertexList.size(); l++) { //edges
-                        if (adjacencyLine.charAt(l) == '1') {
-                            Edge e = new Edge(vertexList.get(j), vertexList.get(l));
-                            edgeList.add(e);
-                        }
-                    }
-                }
-
-                if (data.hasNextLine()) {
-                    for (Vertex v : vertexList) {
-                        String pos = data.nextLine();
-                        v.location = new Point(Integer.parseInt(pos.split(",")[0]), Integer.parseInt(pos.split(",")[1]));
-                    }
-                }
-                // Optional EDGES section
-                // Parse optional sections (VERTEX_COLORS, EDGES) in any order until EOF
-                while (data.hasNextLine()) {
-                    String tag = data.nextLine().trim();
-                    if ("VERTEX_COLORS".equals(tag)) {
-                        // Expect exactly vertexList.size() lines of r,g,b
-                        for (int i = 0; i < vertexList.size() && data.hasNextLine(); i++) {
-                            String line = data.nextLine();
-                            String[] rgb = line.split(",");
-                            if (rgb.length >= 3) {
-                                try {
-                                    int r = Integer.parseInt(rgb[0]);
-                                    int g = Integer.parseInt(rgb[1]);
-                                    int b = Integer.parseInt(rgb[2]);
-                                    vertexList.get(i).color = new Color(r, g, b);
-                                } catch (Exception ignore) {}
-                            }
-                        }
-                    } else if ("EDGES".equals(tag)) {
-                        Vector<Edge> parsedEdges = new Vector<Edge>();
-                        if (data.hasNextLine()) {
-                            int eCount = Integer.parseInt(data.nextLine());
-                            for (int i = 0; i < eCount && data.hasNextLine(); i++) {
-                                String line = data.nextLine();
-                                String[] parts = line.split(",");
-                                if (parts.length >= 4) {
-                                    int i1 = Integer.parseInt(parts[0]);
-                                    int i2 = Integer.parseInt(parts[1]);
-                                    boolean directed = Integer.parseInt(parts[2]) == 1;
-                                    int weight = Integer.parseInt(parts[3]);
-                                    Color color = Color.BLACK;
-                                    if (parts.length >= 7) {
-                                        try {
-                                            int r = Integer.parseInt(parts[4]);
-                                            int g = Integer.parseInt(parts[5]);
-                                            int b = Integer.parseInt(parts[6]);
-                                            color = new Color(r, g, b);
-                                        } catch (Exception ignore) {}
-                                    }
-                                    if (i1 >= 0 && i1 < vertexList.size() && i2 >= 0 && i2 < vertexList.size()) {
-                                        Edge e = new Edge(vertexList.get(i1), vertexList.get(i2));
-                                        e.isDirected = directed;
-                                        e.weight = weight;
-                                        e.color = color;
-                                        parsedEdges.add(e);
-                                    }
-                                }
-                            }
-                        }
-                        // replace edgeList with parsed edges if we found any, and rebuild vertex connections
-                        if (!parsedEdges.isEmpty()) {
-                            edgeList = parsedEdges;
-                            // Rebuild connectedVertices symmetrically for UI and property calculations
-                            for (Vertex v : vertexList) v.connectedVertices.clear();
-                            for (Edge e : edgeList) {
-                                if (e.vertex1 != null && e.vertex2 != null) {
-                                    if (!e.vertex1.connectedVertices.contains(e.vertex2)) e.vertex1.addVertex(e.vertex2);
-                                    if (e.vertex1 != e.vertex2 && !e.vertex2.connectedVertices.contains(e.vertex1)) e.vertex2.addVertex(e.vertex1);
-                                }
-                            }
-                        }
-                    } else {
-                        // Unknown tag or EOF
-                        break;
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.out.println(e);
-        }
-        file.add(vertexList);
-        file.add(edgeList);
-        return file;
-    }
-
-    // Serialize the current graph (vertices + edges) to a string compatible with saveFile()
-    public String saveToString(Vector<Vertex> vList, Vector<Edge> eList) {
-        StringBuilder out = new StringBuilder();
-        out.append(vList.size()).append('\n');
+    private void write(Appendable out, Vector<Vertex> vList, Vector<Edge> eList) throws IOException {
+        VertexIndex index = new VertexIndex(vList);
+        out.append(FORMAT_V2).append('\n');
+        out.append(Integer.toString(vList.size())).append('\n');
         for (Vertex v : vList) {
             out.append(v.name).append('\n');
         }
-        // adjacency matrix for backward compatibility
-        for (int i = 0; i < vList.size(); i++) {
-            for (int j = 0; j < vList.size(); j++) {
-                out.append(vList.get(i).connectedToVertex(vList.get(j)) ? '1' : '0');
-            }
-            out.append('\n');
-        }
         // positions
-        for (int k = 0; k < vList.size(); k++) {
-            out.append(vList.get(k).location.x).append(',').append(vList.get(k).location.y).append('\n');
+        for (Vertex v : vList) {
+            out.append(Integer.toString(v.location.x)).append(',').append(Integer.toString(v.location.y)).append('\n');
         }
         // vertex colors
         out.append("VERTEX_COLORS\n");
         for (Vertex v : vList) {
             Color c = v.color != null ? v.color : Color.BLACK;
-            out.append(c.getRed()).append(',').append(c.getGreen()).append(',').append(c.getBlue()).append('\n');
+            appendRgb(out, c).append('\n');
         }
         // edges (directed entries, two entries for undirected)
         out.append("EDGES\n");
         int edgeEntries = 0;
         for (Edge e : eList) {
-            if (e.vertex1 == null || e.vertex2 == null) continue;
+            if (index.indexOf(e.vertex1) < 0 || index.indexOf(e.vertex2) < 0) continue;
             edgeEntries += (e.isDirected ? 1 : 2);
         }
-        out.append(edgeEntries).append('\n');
+        out.append(Integer.toString(edgeEntries)).append('\n');
         for (Edge e : eList) {
-            int i1 = vList.indexOf(e.vertex1);
-            int i2 = vList.indexOf(e.vertex2);
-            if (i1 < 0 || i2 < 0) continue;
+            int i1 = index.indexOf(e.vertex1);
+            int i2 = index.indexOf(e.vertex2);
+            if (i1 < 0 || i2 < 0) continue; // skip inconsistent
             Color c = e.color != null ? e.color : Color.BLACK;
-            if (e.isDirected) {
-                out.append(i1).append(',').append(i2).append(',').append('1').append(',').append(e.weight)
-                   .append(',').append(c.getRed()).append(',').append(c.getGreen()).append(',').append(c.getBlue()).append('\n');
-            } else {
-                out.append(i1).append(',').append(i2).append(',').append('1').append(',').append(e.weight)
-                   .append(',').append(c.getRed()).append(',').append(c.getGreen()).append(',').append(c.getBlue()).append('\n');
-                out.append(i2).append(',').append(i1).append(',').append('1').append(',').append(e.weight)
-                   .append(',').append(c.getRed()).append(',').append(c.getGreen()).append(',').append(c.getBlue()).append('\n');
+            appendEdge(out, i1, i2, e.weight, c);
+            if (!e.isDirected) {
+                // two directed entries with the same weight/color so users can edit directions independently later
+                appendEdge(out, i2, i1, e.weight, c);
             }
         }
+    }
+
+    private static void appendEdge(Appendable out, int i1, int i2, int weight, Color c) throws IOException {
+        out.append(Integer.toString(i1)).append(',').append(Integer.toString(i2)).append(",1,")
+           .append(Integer.toString(weight)).append(',');
+        appendRgb(out, c).append('\n');
+    }
+
+    private static Appendable appendRgb(Appendable out, Color c) throws IOException {
+        return out.append(Integer.toString(c.getRed())).append(',').append(Integer.toString(c.getGreen()))
+                  .append(',').append(Integer.toString(c.getBlue()));
+    }
+
+    public Vector<Vector<?>> loadFile(File fName) {
+        if (BinaryGraphFormat.isBinaryFile(fName)) {
+            try {
+                return BinaryGraphFormat.load(fName);
+            } catch (IOException e) {
+                System.out.println(e);
+                return read(new BufferedReader(new StringReader("")));
+            }
+        }
+        try (BufferedReader data = new BufferedReader(new FileReader(fName))) {
+            return read(data);
+        } catch (IOException e) {
+            System.out.println(e);
+            return read(new BufferedReader(new StringReader("")));
+        }
+    }
+
+    // Serialize the current graph (vertices + edges) to a string in the saveFile() format
+    public String saveToString(Vector<Vertex> vList, Vector<Edge> eList) {
+        StringBuilder out = new StringBuilder();
+        try {
+            write(out, vList, eList);
+        } catch (IOException impossible) {
+            // StringBuilder does not throw
+        }
         return out.toString();
     }
 
-    // Deserialize graph from string (compatible with loadFile())
+    // Deserialize graph from string (v1 or v2, as loadFile())
     public Vector<Vector<?>> loadFromString(String content) {
+        return read(new BufferedReader(new StringReader(content)));
+    }
+
+    // Parses either format; a v1 adjacency matrix is only used when no EDGES section follows it
+    private Vector<Vector<?>> read(BufferedReader data) {
         Vector<Vertex> vertexList = new Vector<Vertex>();
         Vector<Edge> edgeList = new Vector<Edge>();
         Vector<Vector<?>> file = new Vector<>();
-        try (Scanner data = new Scanner(content)) {
-            if (data.hasNext()) {
-                int size = Integer.parseInt(data.nextLine());
-                for (int i = 0; i < size; i++) {
-                    Vertex v = new Vertex(data.nextLine(), 0, 0);
+        try {
+            String first = data.readLine();
+            if (first != null && !first.trim().isEmpty()) {
+                boolean v2 = FORMAT_V2.equals(first.trim());
+                int size = Integer.parseInt((v2 ? data.readLine() : first).trim());
+                for (int i = 0; i < size; i++) {//vertex only
+                    Vertex v = new Vertex(data.readLine(), 0, 0);
                     vertexList.add(v);
                 }
-                for (int j = 0; j < vertexList.size(); j++) {
-                    String adjacencyLine = data.nextLine();
-                    for (int k = 0; k < vertexList.size(); k++) {
-                        if (adjacencyLine.charAt(k) == '1') {
-                            vertexList.get(j).addVertex(vertexList.get(k));
+
+                if (!v2) {
+                    for (int j = 0; j < size; j++) { // adjacency matrix
+                        String adjacencyLine = data.readLine();
+                        for (int k = 0; k < size; k++) {
+                            if (adjacencyLine.charAt(k) == '1') {
+                                vertexList.get(j).addVertex(vertexList.get(k));
+                            }
                         }
-                    }
-                    for (int l = j + 1; l < vertexList.size(); l++) {
-                        if (adjacencyLine.charAt(l) == '1') {
-                            Edge e = new Edge(vertexList.get(j), vertexList.get(l));
-                            edgeList.add(e);
+                        for (int l = j + 1; l < size; l++) { //edges
+                            if (adjacencyLine.charAt(l) == '1') {
+                                edgeList.add(new Edge(vertexList.get(j), vertexList.get(l)));
+                            }
                         }
                     }
                 }
-                if (data.hasNextLine()) {
-                    for (Vertex v : vertexList) {
-                        String pos = data.nextLine();
-                        String[] xy = pos.split(",");
-                        if (xy.length >= 2) {
-                            v.location = new java.awt.Point(Integer.parseInt(xy[0]), Integer.parseInt(xy[1]));
+
+                String line = data.readLine();
+                if (line != null && size > 0 && line.indexOf(',') >= 0) {
+                    for (int i = 0; i < size && line != null; i++) {
+                        int comma = line.indexOf(',');
+                        if (comma > 0) {
+                            vertexList.get(i).location = new Point(Integer.parseInt(line.substring(0, comma).trim()),
+                                    Integer.parseInt(line.substring(comma + 1).trim()));
                         }
+                        line = data.readLine();
                     }
                 }
-                while (data.hasNextLine()) {
-                    String tag = data.nextLine().trim();
+                // Parse optional sections (VERTEX_COLORS, EDGES) in any order until EOF
+                for (; line != null; line = data.readLine()) {
+                    String tag = line.trim();
                     if ("VERTEX_COLORS".equals(tag)) {
-                        for (int i = 0; i < vertexList.size() && data.hasNextLine(); i++) {
-                            String line = data.nextLine();
+                        // Expect exactly vertexList.size() lines of r,g,b
+                        for (int i = 0; i < size && (line = data.readLine()) != null; i++) {
                             String[] rgb = line.split(",");
                             if (rgb.length >= 3) {
                                 try {
-                                    int r = Integer.parseInt(rgb[0]);
-                                    int g = Integer.parseInt(rgb[1]);
-                                    int b = Integer.parseInt(rgb[2]);
-                                    vertexList.get(i).color = new Color(r, g, b);
+                                    vertexList.get(i).color = new Color(Integer.parseInt(rgb[0]),
+                                            Integer.parseInt(rgb[1]), Integer.parseInt(rgb[2]));
                                 } catch (Exception ignore) {}
                             }
                         }
                     } else if ("EDGES".equals(tag)) {
                         Vector<Edge> parsedEdges = new Vector<Edge>();
-                        if (data.hasNextLine()) {
-                            int eCount = Integer.parseInt(data.nextLine());
-                            for (int i = 0; i < eCount && data.hasNextLine(); i++) {
-                                String line = data.nextLine();
-                                String[] parts = line.split(",");
-                                if (parts.length >= 4) {
-                                    int i1 = Integer.parseInt(parts[0]);
-                                    int i2 = Integer.parseInt(parts[1]);
-                                    boolean directed = Integer.parseInt(parts[2]) == 1;
-                                    int weight = Integer.parseInt(parts[3]);
-                                    Color color = Color.BLACK;
-                                    if (parts.length >= 7) {
-                                        try {
-                                            int r = Integer.parseInt(parts[4]);
-                                            int g = Integer.parseInt(parts[5]);
-                                            int b = Integer.parseInt(parts[6]);
-                                            color = new Color(r, g, b);
-                                        } catch (Exception ignore) {}
-                                    }
-                                    if (i1 >= 0 && i1 < vertexList.size() && i2 >= 0 && i2 < vertexList.size()) {
-                                        Edge e = new Edge(vertexList.get(i1), vertexList.get(i2));
-                                        e.isDirected = directed;
-                                        e.weight = weight;
-                                        e.color = color;
-                                        parsedEdges.add(e);
-                                    }
-                                }
+                        int eCount = Integer.parseInt(data.readLine().trim());
+                        for (int i = 0; i < eCount && (line = data.readLine()) != null; i++) {
+                            String[] parts = line.split(",");
+                            if (parts.length < 4) continue;
+                            int i1 = Integer.parseInt(parts[0]);
+                            int i2 = Integer.parseInt(parts[1]);
+                            Color color = Color.BLACK;
+                            if (parts.length >= 7) {
+                                try {
+                                    color = new Color(Integer.parseInt(parts[4]), Integer.parseInt(parts[5]),
+                                            Integer.parseInt(parts[6]));
+                                } catch (Exception ignore) {}
+                            }
+                            if (i1 >= 0 && i1 < size && i2 >= 0 && i2 < size) {
+                                Edge e = new Edge(vertexList.get(i1), vertexList.get(i2));
+                                e.isDirected = Integer.parseInt(parts[2]) == 1;
+                                e.weight = Integer.parseInt(parts[3]);
+                                e.color = color;
+                                parsedEdges.add(e);
                             }
                         }
-                        if (!parsedEdges.isEmpty()) {
+                        // v2 edges are the whole topology; in v1 they replace the matrix only if present
+                        if (v2 || !parsedEdges.isEmpty()) {
                             edgeList = parsedEdges;
-                            for (Vertex v : vertexList) v.connectedVertices.clear();
-                            for (Edge e : edgeList) {
-                                if (e.vertex1 != null && e.vertex2 != null) {
-                                    if (!e.vertex1.connectedVertices.contains(e.vertex2)) e.vertex1.addVertex(e.vertex2);
-                                    if (e.vertex1 != e.vertex2 && !e.vertex2.connectedVertices.contains(e.vertex1)) e.vertex2.addVertex(e.vertex1);
-                                }
-                            }
+                            connect(vertexList, edgeList);
                         }
                     } else {
+                        // Unknown tag
                         break;
                     }
                 }
@@ -396,4 +261,18 @@ public class FileManager {
         file.add(edgeList);
         return file;
     }
+
+    // Rebuild connectedVertices symmetrically for UI and property calculations, each neighbour once
+    private static void connect(Vector<Vertex> vList, Vector<Edge> eList) {
+        VertexIndex index = new VertexIndex(vList);
+        long n = vList.size();
+        HashSet<Long> linked = new HashSet<Long>(eList.size() * 4);
+        for (Vertex v : vList) v.connectedVertices.clear();
+        for (Edge e : eList) {
+            int u = index.indexOf(e.vertex1), w = index.indexOf(e.vertex2);
+            if (u < 0 || w < 0) continue;
+            if (linked.add(u * n + w)) e.vertex1.addVertex(e.vertex2);
+            if (u != w && linked.add(w * n + u)) e.vertex2.addVertex(e.vertex1);
+        }
+    }
 }
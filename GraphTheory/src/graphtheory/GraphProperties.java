@@ -10,6 +10,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  *
@@ -21,273 +22,214 @@ public class GraphProperties {
     public int[][] distanceMatrix;
     public String distanceMatrixTitle = "ShortestPathMatrix";
     public Vector<VertexPair> vpList;
-
-    public int[][] generateAdjacencyMatrix(Vector<Vertex> vList, Vector<Edge> eList) {
-        adjacencyMatrix = new int[vList.size()][vList.size()];
-
-        for (int a = 0; a < vList.size(); a++)//initialize
-        {
-            for (int b = 0; b < vList.size(); b++) {
-                adjacencyMatrix[a][b] = 0;
+    public ContainerAnalysis containerAnalysis = new ContainerAnalysis();
+    public ContainerReport containerReport;
+    public ParallelShortestPaths apsp = new ParallelShortestPaths();
+    public int[] negativeCycle;
+    public MultiSourceBfs msBfs = new MultiSourceBfs();
+    public int diameter, diameterUpper;
+    public int radius = Integer.MAX_VALUE, radiusLower = Integer.MAX_VALUE;
+    public boolean diameterExact = true;
+    public boolean hasUnreachablePairs;
+    public int diameterTraversalLimit = Integer.MAX_VALUE;
+    public int connectivity;
+    public BiconnectedComponents blocks;
+    public StronglyConnectedComponents strongComponents;
+    public long edgeConnectivity;
+    public CoreDecomposition cores;
+
+    public int[][] generateAdjacencyMatrix(GraphSnapshot g) {
+        adjacencyMatrix = new int[g.n][g.n];
+
+        for (int u = 0; u < g.n; u++) {
+            for (int a = g.offsets[u]; a < g.offsets[u + 1]; a++) {
+                adjacencyMatrix[u][g.targets[a]] = 1;
+                adjacencyMatrix[g.targets[a]][u] = 1;
             }
         }
-
-        for (int i = 0; i < eList.size(); i++) {
-            adjacencyMatrix[vList.indexOf(eList.get(i).vertex1)][vList.indexOf(eList.get(i).vertex2)] = 1;
-            adjacencyMatrix[vList.indexOf(eList.get(i).vertex2)][vList.indexOf(eList.get(i).vertex1)] = 1;
-        }
         return adjacencyMatrix;
     }
 
-    public int[][] generateDistanceMatrix(Vector<Vertex> vList) {
-        distanceMatrix = new int[vList.size()][vList.size()];
+    // Unweighted (hop count) distances via 64-way bit-parallel BFS; unreachable pairs read 0
+    public int[][] generateDistanceMatrix(GraphSnapshot g) {
+        distanceMatrix = msBfs.distanceMatrix(g, 0);
+        distanceMatrixTitle = "ShortestPathMatrix (BFS)";
+        return distanceMatrix;
+    }
 
-        for (int a = 0; a < vList.size(); a++)//initialize
-        {
-            for (int b = 0; b < vList.size(); b++) {
-                distanceMatrix[a][b] = 0;
-            }
+    // Diameter and radius over the pairs that are connected; radius stays Integer.MAX_VALUE when no vertex
+    // reaches another. Symmetric graphs use eccentricity bounding (a few BFS/Dijkstra runs), with at most
+    // diameterTraversalLimit runs per component; if that stops it early, diameterExact is false and the
+    // true values lie in [diameter, diameterUpper] and [radiusLower, radius]. Directed graphs need every
+    // eccentricity, so they fall back to one search per source (still without an all-pairs matrix).
+    public void computeDiameterRadius(GraphSnapshot g) {
+        if (g.isSymmetric()) {
+            EccentricityEngine engine = new EccentricityEngine(g);
+            diameterExact = engine.compute(diameterTraversalLimit);
+            diameter = engine.diameter;
+            diameterUpper = engine.diameterUpper;
+            radius = engine.radius;
+            radiusLower = engine.radiusLower;
+            hasUnreachablePairs = engine.hasUnreachablePairs;
+            return;
         }
-
-        VertexPair vp;
-        int shortestDistance;
-        for (int i = 0; i < vList.size(); i++) {
-            for (int j = i + 1; j < vList.size(); j++) {
-                vp = new VertexPair(vList.get(i), vList.get(j));
-                shortestDistance = vp.getShortestDistance();
-                distanceMatrix[vList.indexOf(vp.vertex1)][vList.indexOf(vp.vertex2)] = shortestDistance;
-                distanceMatrix[vList.indexOf(vp.vertex2)][vList.indexOf(vp.vertex1)] = shortestDistance;
-            }
+        boolean unit = true;
+        for (int w : g.weights) {
+            if (w != 1) { unit = false; break; }
         }
-        distanceMatrixTitle = "ShortestPathMatrix (Dijkstra)";
-        return distanceMatrix;
+        // every pair is mutually reachable exactly when there is a single strongly connected component
+        strongComponents = new StronglyConnectedComponents(g);
+        hasUnreachablePairs = !strongComponents.stronglyConnected();
+        int[] reached = new int[g.n];
+        int[] ecc = unit ? msBfs.eccentricities(g, reached) : apsp.eccentricities(g, reached);
+        diameter = 0;
+        radius = Integer.MAX_VALUE;
+        for (int s = 0; s < g.n; s++) {
+            if (reached[s] <= 1) continue; // reaches nothing else
+            diameter = Math.max(diameter, ecc[s]);
+            radius = Math.min(radius, ecc[s]);
+        }
+        diameterUpper = diameter;
+        radiusLower = radius;
+        diameterExact = true;
     }
 
     // Predecessor-based single-source shortest path (Dijkstra). Returns prev[] of indices; -1 denotes none.
-    @SuppressWarnings("unchecked")
-    public int[] dijkstraPredecessor(Vector<Vertex> vList, Vector<Edge> eList, int sourceIdx) {
-        int n = vList.size();
-        Vector<int[]>[] adj = new Vector[n];
-        for (int i = 0; i < n; i++) adj[i] = new Vector<>();
-        for (Edge e : eList) {
-            int u = vList.indexOf(e.vertex1);
-            int v = vList.indexOf(e.vertex2);
-            if (u < 0 || v < 0) continue;
-            int w = Math.max(0, e.weight);
-            adj[u].add(new int[]{v, w});
-            if (!e.isDirected) {
-                adj[v].add(new int[]{u, w});
-            }
-        }
-
-        final int INF = 1_000_000_000;
-        int[] dist = new int[n];
-        int[] prev = new int[n];
-        boolean[] used = new boolean[n];
-        Arrays.fill(dist, INF);
-        Arrays.fill(prev, -1);
-        dist[sourceIdx] = 0;
+    public int[] dijkstraPredecessor(GraphSnapshot g, int sourceIdx) {
+        DijkstraEngine engine = new DijkstraEngine(g);
+        engine.run(sourceIdx);
+        return engine.predecessors().clone();
+    }
 
-        for (int it = 0; it < n; it++) {
-            int u = -1, best = INF;
-            for (int i = 0; i < n; i++) {
-                if (!used[i] && dist[i] < best) { best = dist[i]; u = i; }
-            }
-            if (u == -1) break;
-            used[u] = true;
-            for (int[] pr : adj[u]) {
-                int v = pr[0], w = pr[1];
-                if (dist[u] + w < dist[v]) {
-                    dist[v] = dist[u] + w;
-                    prev[v] = u;
-                }
-            }
+    // Predecessor-based single-source shortest path (Bellman-Ford). Handles negative weights; returns prev[];
+    // null if a negative cycle is reachable, in which case negativeCycle holds its vertex indices in arc order.
+    public int[] bellmanFordPredecessor(GraphSnapshot g, int sourceIdx) {
+        BellmanFordEngine engine = new BellmanFordEngine(g);
+        if (!engine.run(sourceIdx)) {
+            negativeCycle = engine.negativeCycle();
+            return null;
         }
-        return prev;
+        negativeCycle = null;
+        return engine.predecessors().clone();
     }
 
-    // Predecessor-based single-source shortest path (Bellman-Ford). Handles negative weights; returns prev[]; null if negative cycle detected.
-    public int[] bellmanFordPredecessor(Vector<Vertex> vList, Vector<Edge> eList, int sourceIdx) {
-        int n = vList.size();
-        final int INF = 1_000_000_000;
-        int[] dist = new int[n];
-        int[] prev = new int[n];
-        Arrays.fill(dist, INF);
-        Arrays.fill(prev, -1);
-        dist[sourceIdx] = 0;
+    // Single source -> target shortest path as vertex indices (A* or bidirectional Dijkstra; Bellman-Ford when
+    // weights are negative). null if unreachable or if a negative cycle is reachable, which is then left in negativeCycle.
+    public int[] shortestPath(GraphSnapshot g, int sourceIdx, int targetIdx) {
+        return shortestPath(g, sourceIdx, targetIdx, null);
+    }
 
-        // Build edge list as directed arcs; if e.isDirected == false, include both directions
-        class Arc { int u, v, w; Arc(int u, int v, int w){this.u=u;this.v=v;this.w=w;} }
-        java.util.List<Arc> arcs = new java.util.ArrayList<>();
-        for (Edge e : eList) {
-            int u = vList.indexOf(e.vertex1);
-            int v = vList.indexOf(e.vertex2);
-            if (u < 0 || v < 0) continue;
-            arcs.add(new Arc(u, v, e.weight));
-            if (!e.isDirected) arcs.add(new Arc(v, u, e.weight));
+    // As above; scc (of g, or null) answers unreachable targets without a search. With negative weights the
+    // search still runs, since a negative cycle reachable from the source must be reported.
+    public int[] shortestPath(GraphSnapshot g, int sourceIdx, int targetIdx, StronglyConnectedComponents scc) {
+        if (scc != null && !g.hasNegativeWeight() && !scc.canReach(sourceIdx, targetIdx)) {
+            negativeCycle = null;
+            return null;
         }
+        PointToPointSearch search = new PointToPointSearch(g);
+        int[] path = search.path(sourceIdx, targetIdx);
+        negativeCycle = search.negativeCycle();
+        return path;
+    }
 
-        for (int i = 0; i < n - 1; i++) {
-            boolean any = false;
-            for (Arc a : arcs) {
-                if (dist[a.u] < INF && dist[a.u] + a.w < dist[a.v]) {
-                    dist[a.v] = dist[a.u] + a.w;
-                    prev[a.v] = a.u;
-                    any = true;
-                }
+    // New: weighted, direction-aware shortest paths using Dijkstra from each source, or Floyd-Warshall on
+    // dense graphs
+    public int[][] generateDistanceMatrixWeighted(GraphSnapshot g) {
+        // sources are independent, so rows are filled in parallel; unreachable pairs read 0
+        negativeCycle = null;
+        if (!g.hasNegativeWeight()) {
+            if (floydWarshallFits(g)) {
+                distanceMatrix = floydWarshall(g);
+                distanceMatrixTitle = "ShortestPathMatrix (Floyd-Warshall)";
+            } else {
+                distanceMatrix = apsp.distanceMatrix(g, 0);
+                distanceMatrixTitle = "ShortestPathMatrix (Dijkstra)";
             }
-            if (!any) break;
-        }
-        // Detect negative cycle (reachable)
-        for (Arc a : arcs) {
-            if (dist[a.u] < INF && dist[a.u] + a.w < dist[a.v]) {
-                return null;
+        } else {
+            // negative weights: Johnson's reweighting keeps Dijkstra exact
+            JohnsonShortestPaths johnson = new JohnsonShortestPaths(apsp);
+            distanceMatrix = johnson.distanceMatrix(g, 0);
+            distanceMatrixTitle = "ShortestPathMatrix (Johnson)";
+            if (distanceMatrix == null) {
+                // no shortest paths exist; fall back to clamping negative weights to 0
+                negativeCycle = johnson.negativeCycle();
+                distanceMatrix = apsp.distanceMatrix(g, 0);
+                distanceMatrixTitle = "ShortestPathMatrix (negative cycle, weights < 0 read as 0)";
             }
         }
-        return prev;
+        for (int s = 0; s < g.n; s++) {
+            distanceMatrix[s][s] = 0;
+        }
+        return distanceMatrix;
     }
 
-    // Floyd-Warshall all-pairs shortest paths; returns dist matrix; sets distanceMatrix and title.
-    public int[][] floydWarshall(Vector<Vertex> vList, Vector<Edge> eList) {
-        int n = vList.size();
-        final int INF = 1_000_000_000;
-        int[][] dist = new int[n][n];
-        for (int i = 0; i < n; i++) {
-            Arrays.fill(dist[i], INF);
-            dist[i][i] = 0;
-        }
-        for (Edge e : eList) {
-            int u = vList.indexOf(e.vertex1);
-            int v = vList.indexOf(e.vertex2);
-            if (u < 0 || v < 0) continue;
-            dist[u][v] = Math.min(dist[u][v], e.weight);
-            if (!e.isDirected) dist[v][u] = Math.min(dist[v][u], e.weight);
+    // Dense graphs (at least n^2 / 4 arcs) go to the blocked Floyd-Warshall, which beats a Dijkstra per
+    // source there; the flat n * n matrix must be indexable and no path may reach its INF marker
+    private static boolean floydWarshallFits(GraphSnapshot g) {
+        long n = g.n;
+        if (n == 0 || n * n > Integer.MAX_VALUE || 4L * g.arcCount() < n * n) return false;
+        long heaviest = 0;
+        for (int w : g.weights) {
+            heaviest = Math.max(heaviest, w);
         }
+        return heaviest * n < BlockedFloydWarshall.INF;
+    }
 
-        for (int k = 0; k < n; k++) {
-            for (int i = 0; i < n; i++) {
-                if (dist[i][k] == INF) continue;
-                for (int j = 0; j < n; j++) {
-                    if (dist[k][j] == INF) continue;
-                    int nd = dist[i][k] + dist[k][j];
-                    if (nd < dist[i][j]) dist[i][j] = nd;
-                }
+    // Blocked Floyd-Warshall as a matrix whose unreachable pairs read 0, like the Dijkstra rows
+    private static int[][] floydWarshall(GraphSnapshot g) {
+        int n = g.n;
+        int[] flat = new BlockedFloydWarshall().solve(g);
+        int[][] dist = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int d = flat[i * n + j];
+                dist[i][j] = d == BlockedFloydWarshall.INF ? 0 : d;
             }
         }
-        this.distanceMatrix = dist;
-        this.distanceMatrixTitle = "All-Pairs Shortest Paths (Floyd-Warshall)";
         return dist;
     }
 
-    // New: weighted, direction-aware shortest paths using Dijkstra from each source
-    @SuppressWarnings("unchecked")
-    public int[][] generateDistanceMatrixWeighted(Vector<Vertex> vList, Vector<Edge> eList) {
-        int n = vList.size();
-        distanceMatrix = new int[n][n];
-
-        // Build adjacency lists with weights. If an edge is undirected (isDirected == false), add both directions.
-        Vector<int[]>[] adj = new Vector[n]; // each int[] = {to, weight}
-        for (int i = 0; i < n; i++) adj[i] = new Vector<>();
-        for (Edge e : eList) {
-            int u = vList.indexOf(e.vertex1);
-            int v = vList.indexOf(e.vertex2);
-            if (u < 0 || v < 0) continue;
-            int w = Math.max(0, e.weight);
-            adj[u].add(new int[]{v, w});
-            if (!e.isDirected) {
-                adj[v].add(new int[]{u, w});
-            }
-        }
-
-        final int INF = 1_000_000_000;
-        for (int s = 0; s < n; s++) {
-            int[] dist = new int[n];
-            boolean[] used = new boolean[n];
-            Arrays.fill(dist, INF);
-            dist[s] = 0;
-
-            for (int iter = 0; iter < n; iter++) {
-                int u = -1;
-                int best = INF;
-                for (int i = 0; i < n; i++) {
-                    if (!used[i] && dist[i] < best) { best = dist[i]; u = i; }
-                }
-                if (u == -1) break; // remaining unreachable
-                used[u] = true;
-                for (int[] pr : adj[u]) {
-                    int v = pr[0];
-                    int w = pr[1];
-                    if (dist[u] + w < dist[v]) {
-                        dist[v] = dist[u] + w;
-                    }
-                }
-            }
-
-            for (int t = 0; t < n; t++) {
-                distanceMatrix[s][t] = (s == t || dist[t] == INF) ? 0 : dist[t];
-            }
-        }
-
-        return distanceMatrix;
+    // k-wide distances per pair by min-cost flow, for every k up to the pair's width, and the wide diameters
+    // D_k(G) = max over pairs of width >= k; pairs are evaluated in parallel and printed once all are done.
+    // Values print as a number, or as [lower, upper] where the bounds differ.
+    public ContainerReport displayContainers(GraphSnapshot g) {
+        ContainerReport report = analyzeContainers(g, new AtomicBoolean());
+        publishContainers(report);
+        return report;
     }
 
-    public void displayContainers(Vector<Vertex> vList) {
-        vpList = new Vector<VertexPair>();
-        int[] kWideGraph = new int[10];
-        for (int i = 0; i < kWideGraph.length; i++) {
-            kWideGraph[i] = -1;
-        }
-
-
-
-        VertexPair vp;
-
-        for (int a = 0; a < vList.size(); a++) {    // assign vertex pairs
-            for (int b = a + 1; b < vList.size(); b++) {
-                vp = new VertexPair(vList.get(a), vList.get(b));
-                vpList.add(vp);
-                int longestWidth = 0;
-                System.out.println(">Vertex Pair " + vList.get(a).name + "-" + vList.get(b).name + "\n All Paths:");
-                vp.generateVertexDisjointPaths();
-                for (int i = 0; i < vp.VertexDisjointContainer.size(); i++) {//for every container of the vertex pair
-                    int width = vp.VertexDisjointContainer.get(i).size();
-                    Collections.sort(vp.VertexDisjointContainer.get(i), new descendingWidthComparator());
-                    int longestLength = vp.VertexDisjointContainer.get(i).firstElement().size();
-                    longestWidth = Math.max(longestWidth, width);
-                    System.out.println("\tContainer " + i + " - " + "Width=" + width + " - Length=" + longestLength);
-
-                    for (int j = 0; j < vp.VertexDisjointContainer.get(i).size(); j++) //for every path in the container
-                    {
-                        System.out.print("\t\tPath " + j + "\n\t\t\t");
-                        for (int k = 0; k < vp.VertexDisjointContainer.get(i).get(j).size(); k++) {
-                            System.out.print("-" + vp.VertexDisjointContainer.get(i).get(j).get(k).name);
-                        }
-                        System.out.println();
-                    }
+    // The expensive half of displayContainers, including the printed report; reads only the immutable
+    // snapshot, so it may run off the event thread while publishContainers stays on it. Returns null,
+    // printing nothing, once cancelled is set
+    public ContainerReport analyzeContainers(GraphSnapshot g, AtomicBoolean cancelled) {
+        ContainerReport report = containerAnalysis.analyze(g, cancelled);
+        if (report == null || cancelled.get()) return null;
+        report.print(System.out);
+        return report;
+    }
 
-                }
-                //d-wide for vertexPair
-                for (int k = 1; k <= longestWidth; k++) { // 1-wide, 2-wide, 3-wide...
-                    int minLength = 999;
-                    for (int m = 0; m < vp.VertexDisjointContainer.size(); m++) // for each container with k-wide select shortest length
-                    {
-                        minLength = Math.min(minLength, vp.VertexDisjointContainer.get(m).size());
-                    }
-                    if (minLength != 999) {
-                        System.out.println(k + "-wide for vertexpair(" + vp.vertex1.name + "-" + vp.vertex2.name + ")=" + minLength);
-                        kWideGraph[k] = Math.max(kWideGraph[k], minLength);
+    // Widest containers of the report as vpList, longest path first
+    public void publishContainers(ContainerReport report) {
+        GraphSnapshot g = report.graph;
+        Vector<VertexPair> pairs = new Vector<VertexPair>();
+        for (ContainerReport.PairResult p : report.pairs) {
+            VertexPair vp = new VertexPair(g.vertices[p.a], g.vertices[p.b]);
+            if (p.width > 0) {
+                Vector<Vector<Vertex>> container = new Vector<Vector<Vertex>>();
+                for (int[] path : p.container) {
+                    Vector<Vertex> vs = new Vector<Vertex>();
+                    for (int v : path) {
+                        vs.add(g.vertices[v]);
                     }
+                    container.add(vs);
                 }
+                Collections.sort(container, new descendingWidthComparator());
+                vp.VertexDisjointContainer.add(container);
             }
+            pairs.add(vp);
         }
-
-        for (int i = 0; i < kWideGraph.length; i++) {
-            if (kWideGraph[i] != -1) {
-                System.out.println("D" + i + "(G)=" + kWideGraph[i]);
-            }
-        }
-
-
+        vpList = pairs;
+        containerReport = report;
     }
 
     public void drawAdjacencyMatrix(Graphics g, Vector<Vertex> vList, int x, int y) {
@@ -324,82 +266,42 @@ public class GraphProperties {
         }
     }
 
-    public Vector<Vertex> vertexConnectivity(Vector<Vertex> vList) {
-        Vector<Vertex> origList = new Vector<Vertex>();
-        Vector<Vertex> tempList = new Vector<Vertex>();
-        Vector<Vertex> toBeRemoved = new Vector<Vertex>();
-        Vertex victim;
-
-
-        origList.setSize(vList.size());
-        Collections.copy(origList, vList);
-
-        int maxPossibleRemove = 0;
-        while (graphConnectivity(origList)) {
-            Collections.sort(origList, new ascendingDegreeComparator());
-            maxPossibleRemove = origList.firstElement().getDegree();
-
-            for (Vertex v : origList) {
-                if (v.getDegree() == maxPossibleRemove) {
-                    for (Vertex z : v.connectedVertices) {
-                        if (!tempList.contains(z)) {
-                            tempList.add(z);
-                        }
-                    }
-                }
-            }
-
-            while (graphConnectivity(origList) && tempList.size() > 0) {
-                Collections.sort(tempList, new descendingDegreeComparator());
-                victim = tempList.firstElement();
-                tempList.removeElementAt(0);
-                origList.remove(victim);
-                for (Vertex x : origList) {
-                    x.connectedVertices.remove(victim);
-                }
-                toBeRemoved.add(victim);
-            }
-            tempList.removeAllElements();
-        }
-
-        return toBeRemoved;
-    }
-
-    private boolean graphConnectivity(Vector<Vertex> vList) {
-
-        Vector<Vertex> visitedList = new Vector<Vertex>();
-
-        recurseGraphConnectivity(vList.firstElement().connectedVertices, visitedList); //recursive function
-        if (visitedList.size() != vList.size()) {
-            return false;
-        } else {
-            return true;
+    // Exact vertex connectivity of g (stored in connectivity) and a minimum separating set to highlight;
+    // runs on the snapshot alone, so the live connectedVertices lists are left as they are
+    public Vector<Vertex> vertexConnectivity(GraphSnapshot g) {
+        VertexCutEngine engine = new VertexCutEngine(g);
+        connectivity = engine.compute();
+        Vector<Vertex> separatingSet = new Vector<Vertex>();
+        for (int v : engine.separatingSet) {
+            separatingSet.add(g.vertices[v]);
         }
+        return separatingSet;
     }
 
-    private void recurseGraphConnectivity(Vector<Vertex> vList, Vector<Vertex> visitedList) {
-        for (Vertex v : vList) {
-            {
-                if (!visitedList.contains(v)) {
-                    visitedList.add(v);
-                    recurseGraphConnectivity(v.connectedVertices, visitedList);
-                }
-            }
+    // Cut vertices of g in O(V + E); bridges and the block-cut tree are left in blocks
+    public Vector<Vertex> articulationPoints(GraphSnapshot g) {
+        blocks = new BiconnectedComponents(g);
+        Vector<Vertex> cutVertices = new Vector<Vertex>();
+        for (int v : blocks.articulationPoints) {
+            cutVertices.add(g.vertices[v]);
         }
+        return cutVertices;
     }
 
-    private class ascendingDegreeComparator implements Comparator<Vertex> {
-
-        public int compare(Vertex v1, Vertex v2) {
-            return Integer.compare(v1.getDegree(), v2.getDegree());
-        }
+    // Global minimum edge cut of g read as undirected (Stoer-Wagner); its weight goes to edgeConnectivity,
+    // which is lambda(G) when weighted is false. Edges joining the same pair, such as the two directed
+    // copies a text file stores for one undirected edge, count once: weighted by the cheapest of them.
+    // The engine's vertex indices are g's, so crosses() can be asked about g's edges
+    public MinimumCutEngine minimumCut(GraphSnapshot g, boolean weighted) {
+        MinimumCutEngine engine = new MinimumCutEngine(weighted ? g.undirectedCheapest() : g.undirectedUnweighted());
+        edgeConnectivity = engine.compute();
+        return engine;
     }
 
-    private class descendingDegreeComparator implements Comparator<Vertex> {
-
-        public int compare(Vertex v1, Vertex v2) {
-            return Integer.compare(v2.getDegree(), v1.getDegree());
-        }
+    // Core number of every vertex by bucket peeling, O(V + E); the decomposition is left in cores
+    public int[] coreNumbers(GraphSnapshot g) {
+        cores = new CoreDecomposition(g);
+        return cores.core;
     }
 
     private class descendingWidthComparator implements Comparator<Vector<Vertex>> {
@@ -0,0 +1,205 @@
+package graphtheory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Vector;
+
+/**
+ * Immutable compressed sparse row (CSR) view of a graph, built once in O(V+E).
+ * Arcs leaving vertex u are targets[offsets[u] .. offsets[u + 1] - 1] with the
+ * matching weights. Undirected edges contribute one arc in each direction.
+ */
+public class GraphSnapshot {
+
+    public final int n;
+    public final Vertex[] vertices;
+    public final int[] offsets;
+    public final int[] targets;
+    public final int[] weights;
+    private final VertexIndex index;
+
+    public GraphSnapshot(Vector<Vertex> vList, Vector<Edge> eList) {
+        this(vList, eList, true);
+    }
+
+    // honorDirection == false treats every edge as undirected (used when directionality is disabled)
+    public GraphSnapshot(Vector<Vertex> vList, Vector<Edge> eList, boolean honorDirection) {
+        n = vList.size();
+        vertices = vList.toArray(new Vertex[n]);
+        index = new VertexIndex(vList);
+
+        // First pass: resolve endpoints once and count out-degrees
+        int m = eList.size();
+        int[] eu = new int[m];
+        int[] ev = new int[m];
+        boolean[] both = new boolean[m];
+        int[] deg = new int[n + 1];
+        for (int i = 0; i < m; i++) {
+            Edge e = eList.get(i);
+            eu[i] = indexOf(e.vertex1);
+            ev[i] = indexOf(e.vertex2);
+            if (eu[i] < 0 || ev[i] < 0) continue;
+            deg[eu[i]]++;
+            both[i] = (!honorDirection || !e.isDirected) && eu[i] != ev[i];
+            if (both[i]) deg[ev[i]]++;
+        }
+
+        // Second pass: prefix sums, then scatter arcs into place
+        offsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] = offsets[u] + deg[u];
+        }
+        targets = new int[offsets[n]];
+        weights = new int[offsets[n]];
+        int[] fill = new int[n];
+        System.arraycopy(offsets, 0, fill, 0, n);
+        for (int i = 0; i < m; i++) {
+            if (eu[i] < 0 || ev[i] < 0) continue;
+            int w = eList.get(i).weight;
+            targets[fill[eu[i]]] = ev[i];
+            weights[fill[eu[i]]++] = w;
+            if (both[i]) {
+                targets[fill[ev[i]]] = eu[i];
+                weights[fill[ev[i]]++] = w;
+            }
+        }
+    }
+
+    private GraphSnapshot(GraphSnapshot base, int[] offsets, int[] targets, int[] weights) {
+        this.n = base.n;
+        this.vertices = base.vertices;
+        this.index = base.index;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    // Same topology with a different weight per arc (weights[a] belongs to targets[a])
+    public GraphSnapshot withWeights(int[] newWeights) {
+        return new GraphSnapshot(this, offsets, targets, newWeights);
+    }
+
+    // Every arc u -> v turned into v -> u with the same weight
+    public GraphSnapshot reversed() {
+        int[] newOffsets = new int[n + 1];
+        for (int a = 0; a < offsets[n]; a++) {
+            newOffsets[targets[a] + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            newOffsets[u + 1] += newOffsets[u];
+        }
+        int[] newTargets = new int[offsets[n]];
+        int[] newWeights = new int[offsets[n]];
+        int[] fill = new int[n];
+        System.arraycopy(newOffsets, 0, fill, 0, n);
+        for (int u = 0; u < n; u++) {
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int slot = fill[targets[a]]++;
+                newTargets[slot] = u;
+                newWeights[slot] = weights[a];
+            }
+        }
+        return new GraphSnapshot(this, newOffsets, newTargets, newWeights);
+    }
+
+    // O(1) position of v in this snapshot; -1 if v is not part of it
+    public int indexOf(Vertex v) {
+        return index.indexOf(v);
+    }
+
+    public int arcCount() {
+        return offsets[n];
+    }
+
+    public int outDegree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    public boolean hasNegativeWeight() {
+        for (int w : weights) {
+            if (w < 0) return true;
+        }
+        return false;
+    }
+
+    // True if every arc u -> v has a v -> u partner and the cheapest arc is equally cheap both ways
+    public boolean isSymmetric() {
+        HashMap<Long, Integer> cheapest = new HashMap<Long, Integer>();
+        for (int u = 0; u < n; u++) {
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                long key = ((long) u << 32) | targets[a];
+                Integer w = cheapest.get(key);
+                if (w == null || weights[a] < w) cheapest.put(key, weights[a]);
+            }
+        }
+        for (Map.Entry<Long, Integer> e : cheapest.entrySet()) {
+            long key = e.getKey();
+            long mirror = ((key & 0xffffffffL) << 32) | (key >>> 32);
+            if (!e.getValue().equals(cheapest.get(mirror))) return false;
+        }
+        return true;
+    }
+
+    // Undirected, unit-weight view: a single arc pair for every pair joined in either direction
+    public GraphSnapshot undirectedUnweighted() {
+        GraphSnapshot u = undirectedCheapest();
+        java.util.Arrays.fill(u.weights, 1);
+        return u;
+    }
+
+    // Undirected view with one arc pair per adjacent pair, weighted by the cheapest arc between them
+    // in either direction, the same weight the distance code uses for that pair
+    public GraphSnapshot undirectedCheapest() {
+        int[] deg = new int[n];
+        for (int u = 0; u < n; u++) {
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                deg[u]++;
+                if (targets[a] != u) deg[targets[a]]++;
+            }
+        }
+        int[] start = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            start[u + 1] = start[u] + deg[u];
+        }
+        int[] cand = new int[start[n]];
+        int[] candWeight = new int[start[n]];
+        int[] fill = new int[n];
+        System.arraycopy(start, 0, fill, 0, n);
+        for (int u = 0; u < n; u++) {
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int v = targets[a];
+                candWeight[fill[u]] = weights[a];
+                cand[fill[u]++] = v;
+                if (v != u) {
+                    candWeight[fill[v]] = weights[a];
+                    cand[fill[v]++] = u;
+                }
+            }
+        }
+
+        // Drop duplicate neighbours with a per-source stamp, keeping the cheapest weight
+        int[] seen = new int[n];
+        int[] slot = new int[n];
+        int[] newOffsets = new int[n + 1];
+        int count = 0;
+        for (int u = 0; u < n; u++) {
+            for (int a = start[u]; a < start[u + 1]; a++) {
+                int v = cand[a];
+                if (seen[v] != u + 1) {
+                    seen[v] = u + 1;
+                    slot[v] = count;
+                    candWeight[count] = candWeight[a];
+                    cand[count++] = v;
+                } else if (candWeight[a] < candWeight[slot[v]]) {
+                    candWeight[slot[v]] = candWeight[a];
+                }
+            }
+            newOffsets[u + 1] = count;
+        }
+        int[] newTargets = new int[count];
+        System.arraycopy(cand, 0, newTargets, 0, count);
+        int[] newWeights = new int[count];
+        System.arraycopy(candWeight, 0, newWeights, 0, count);
+        return new GraphSnapshot(this, newOffsets, newTargets, newWeights);
+    }
+}
@@ -12,8 +12,8 @@ public class GraphState {
     public double zoom;
     public int panX, panY;
 
-    public GraphState(Vector<Vertex> vertexList, Vector<Edge> edgeList, 
-                     boolean directionalityEnabled, boolean weightsEnabled, 
+    public GraphState(Vector<Vertex> vertexList, Vector<Edge> edgeList,
+                     boolean directionalityEnabled, boolean weightsEnabled,
                      int selectedTool, double zoom, int panX, int panY) {
         this.directionalityEnabled = directionalityEnabled;
         this.weightsEnabled = weightsEnabled;
@@ -21,18 +21,20 @@ public class GraphState {
         this.zoom = zoom;
         this.panX = panX;
         this.panY = panY;
-        
+
+        VertexIndex originalIndex = new VertexIndex(vertexList);
         this.vertexList = new Vector<>();
         for (Vertex v : vertexList) {
             this.vertexList.add(cloneVertex(v));
         }
+        VertexIndex clonedIndex = new VertexIndex(this.vertexList);
 
         // After all vertices are cloned, establish their connections
         for (int i = 0; i < vertexList.size(); i++) {
             Vertex originalVertex = vertexList.get(i);
             Vertex clonedVertex = this.vertexList.get(i);
             for (Vertex connected : originalVertex.connectedVertices) {
-                Vertex clonedConnected = findClonedVertex(connected, this.vertexList);
+                Vertex clonedConnected = findClonedVertex(connected, originalIndex, clonedIndex);
                 if (clonedConnected != null) {
                     clonedVertex.addVertex(clonedConnected);
                 }
@@ -41,7 +43,7 @@ public class GraphState {
 
         this.edgeList = new Vector<>();
         for (Edge e : edgeList) {
-            this.edgeList.add(cloneEdge(e, this.vertexList));
+            this.edgeList.add(cloneEdge(e, originalIndex, clonedIndex));
         }
     }
 
@@ -52,9 +54,9 @@ public class GraphState {
         return clone;
     }
 
-    private Edge cloneEdge(Edge original, Vector<Vertex> clonedVertices) {
-        Vertex v1 = findClonedVertex(original.vertex1, clonedVertices);
-        Vertex v2 = findClonedVertex(original.vertex2, clonedVertices);
+    private Edge cloneEdge(Edge original, VertexIndex originalIndex, VertexIndex clonedIndex) {
+        Vertex v1 = findClonedVertex(original.vertex1, originalIndex, clonedIndex);
+        Vertex v2 = findClonedVertex(original.vertex2, originalIndex, clonedIndex);
         Edge clone = new Edge(v1, v2);
         clone.color = original.color;
         clone.isDirected = original.isDirected;
@@ -62,12 +64,12 @@ public class GraphState {
         return clone;
     }
 
-    private Vertex findClonedVertex(Vertex original, Vector<Vertex> clonedVertices) {
-        for (Vertex v : clonedVertices) {
-            if (v.name.equals(original.name)) {
-                return v;
-            }
+    // Clones share ids with their originals; fall back to a name lookup for vertices outside the list
+    private Vertex findClonedVertex(Vertex original, VertexIndex originalIndex, VertexIndex clonedIndex) {
+        int id = originalIndex.indexOf(original);
+        if (id >= 0) {
+            return clonedIndex.get(id);
         }
-        return null; // Should not happen
+        return original == null ? null : clonedIndex.get(original.name);
     }
 }
@@ -0,0 +1,101 @@
+package graphtheory;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over vertex indices 0..n-1 with a position table, so a
+ * queued vertex can have its key lowered in O(log n). Ties break on the lower
+ * index. Arrays are sized once; clear() makes the heap reusable.
+ */
+public class IndexedHeap {
+
+    private final long[] key;
+    private final int[] heap;
+    private final int[] pos; // slot of v in heap, -1 if not queued
+    private int size;
+
+    public IndexedHeap(int n) {
+        key = new long[n];
+        heap = new int[n];
+        pos = new int[n];
+        Arrays.fill(pos, -1);
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int v) {
+        return pos[v] >= 0;
+    }
+
+    public long peekKey() {
+        return key[heap[0]];
+    }
+
+    // Insert v, or lower its key if it is already queued with a larger one
+    public void push(int v, long k) {
+        if (pos[v] >= 0) {
+            if (k < key[v]) {
+                key[v] = k;
+                siftUp(pos[v]);
+            }
+            return;
+        }
+        key[v] = k;
+        heap[size] = v;
+        pos[v] = size;
+        siftUp(size++);
+    }
+
+    public int pop() {
+        int top = heap[0];
+        pos[top] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private boolean less(int a, int b) {
+        return key[a] < key[b] || (key[a] == key[b] && a < b);
+    }
+
+    private void siftUp(int i) {
+        int v = heap[i];
+        while (i > 0) {
+            int p = (i - 1) >> 1;
+            if (!less(v, heap[p])) break;
+            heap[i] = heap[p];
+            pos[heap[i]] = i;
+            i = p;
+        }
+        heap[i] = v;
+        pos[v] = i;
+    }
+
+    private void siftDown(int i) {
+        int v = heap[i];
+        int half = size >> 1;
+        while (i < half) {
+            int c = 2 * i + 1;
+            if (c + 1 < size && less(heap[c + 1], heap[c])) c++;
+            if (!less(heap[c], v)) break;
+            heap[i] = heap[c];
+            pos[heap[i]] = i;
+            i = c;
+        }
+        heap[i] = v;
+        pos[v] = i;
+    }
+}
@@ -0,0 +1,42 @@
+package graphtheory;
+
+/**
+ * Johnson's all-pairs shortest paths. One Bellman-Ford pass from a virtual
+ * source yields potentials h with w(u,v) + h[u] - h[v] >= 0 on every arc; the
+ * reweighted graph is then solved by parallel Dijkstra from every source and
+ * the distances are shifted back. O(V E log V) instead of Floyd-Warshall's
+ * O(V^3), and correct for negative weights as long as there is no negative cycle.
+ */
+public class JohnsonShortestPaths {
+
+    private final ParallelShortestPaths apsp;
+    private int[] negativeCycle;
+
+    public JohnsonShortestPaths(ParallelShortestPaths apsp) {
+        this.apsp = apsp;
+    }
+
+    // Distance matrix of g with 'unreachable' for pairs without a path; null if g has a negative cycle
+    public int[][] distanceMatrix(GraphSnapshot g, int unreachable) {
+        BellmanFordEngine bf = new BellmanFordEngine(g);
+        if (!bf.runFromAll()) {
+            negativeCycle = bf.negativeCycle();
+            return null;
+        }
+        negativeCycle = null;
+        int[] h = bf.distances().clone();
+
+        int[] reweighted = new int[g.arcCount()];
+        for (int u = 0; u < g.n; u++) {
+            for (int a = g.offsets[u]; a < g.offsets[u + 1]; a++) {
+                reweighted[a] = g.weights[a] + h[u] - h[g.targets[a]];
+            }
+        }
+        return apsp.distanceMatrix(g.withWeights(reweighted), h, unreachable);
+    }
+
+    // Vertex indices of the negative cycle found by the last call, in arc order; null if none
+    public int[] negativeCycle() {
+        return negativeCycle;
+    }
+}
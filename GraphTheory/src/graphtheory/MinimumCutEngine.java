@@ -0,0 +1,207 @@
+package graphtheory;
+
+import java.util.Arrays;
+
+/**
+ * Global minimum edge cut by Stoer-Wagner. Each phase orders the current
+ * super-vertices by maximum adjacency (an IndexedHeap keyed by the negated
+ * weight into the added set); the last one added, t, is then cut off from
+ * the one before it by nothing lighter than its own degree, so the two can
+ * be merged. The lightest super-vertex degree seen along the way is a
+ * minimum cut; with unit weights its value is the edge connectivity
+ * lambda(G).
+ *
+ * Besides the last two vertices, a phase also merges every edge whose
+ * adjacency key reaches the best cut so far (Nagamochi-Ono-Ibaraki): such a
+ * pair cannot be split by a lighter cut. The contracted graph, with parallel
+ * edges summed, is rebuilt after each phase, so most graphs need only a few
+ * phases instead of V - 1.
+ *
+ * The snapshot is read as undirected, one arc per direction, such as
+ * undirectedCheapest(); the weight of edge {u, v} is the sum of the arcs
+ * u -> v, negative weights count as 0 and self-loops are ignored.
+ */
+public class MinimumCutEngine {
+
+    private final GraphSnapshot g;
+
+    // Results of compute()
+    public long cutWeight;
+    public boolean[] side;   // vertices on one side of the cut; the cut edges are those with exactly one end here
+    public int phases;
+
+    // Contracted graph: super-vertex x has arcs head[start[x] .. start[x + 1] - 1] with summed weights
+    private int cn;
+    private int[] start, head;
+    private long[] weight;
+    private int[] owner;     // original vertex -> super-vertex
+
+    public MinimumCutEngine(GraphSnapshot g) {
+        this.g = g;
+    }
+
+    public long compute() {
+        int n = g.n;
+        side = new boolean[n];
+        cutWeight = 0;
+        phases = 0;
+        if (n <= 1) return cutWeight;
+
+        owner = new int[n];
+        for (int v = 0; v < n; v++) {
+            owner[v] = v;
+        }
+        start = g.offsets;
+        head = g.targets;
+        weight = new long[g.arcCount()];
+        for (int a = 0; a < weight.length; a++) {
+            weight[a] = Math.max(0, g.weights[a]);
+        }
+        cn = n;
+        contract(identity(n)); // merges parallel arcs and drops self-loops
+
+        int[] parent = new int[n];
+        long[] key = new long[n];
+        boolean[] added = new boolean[n];
+        IndexedHeap heap = new IndexedHeap(n);
+        long best = lightestVertex(Long.MAX_VALUE);
+
+        while (cn > 1 && best > 0) {
+            phases++;
+            for (int x = 0; x < cn; x++) {
+                parent[x] = x;
+                key[x] = 0;
+                added[x] = false;
+            }
+            heap.clear();
+            for (int x = 0; x < cn; x++) {
+                heap.push(x, 0);
+            }
+            int s = -1, t = -1;
+            while (!heap.isEmpty()) {
+                int x = heap.pop();
+                added[x] = true;
+                s = t;
+                t = x;
+                for (int a = start[x]; a < start[x + 1]; a++) {
+                    int y = head[a];
+                    if (added[y]) continue;
+                    key[y] += weight[a];
+                    heap.push(y, -key[y]);
+                    if (key[y] >= best) union(parent, x, y);
+                }
+            }
+            // the cut of the phase is t alone, already counted by lightestVertex; s and t may now merge
+            union(parent, s, t);
+            int[] group = new int[cn];
+            for (int x = 0; x < cn; x++) {
+                group[x] = find(parent, x);
+            }
+            contract(group);
+            best = lightestVertex(best);
+        }
+        cutWeight = best;
+        return cutWeight;
+    }
+
+    // Single super-vertices are cuts too; returns the lighter of best and the lightest one
+    private long lightestVertex(long best) {
+        for (int x = 0; x < cn; x++) {
+            long d = 0;
+            for (int a = start[x]; a < start[x + 1]; a++) {
+                d += weight[a];
+            }
+            if (d < best && cn > 1) {
+                best = d;
+                markSide(x);
+            }
+        }
+        return best;
+    }
+
+    private void markSide(int x) {
+        for (int v = 0; v < g.n; v++) {
+            side[v] = owner[v] == x;
+        }
+    }
+
+    private static int[] identity(int n) {
+        int[] id = new int[n];
+        for (int i = 0; i < n; i++) {
+            id[i] = i;
+        }
+        return id;
+    }
+
+    // Replace the contracted graph by its quotient under group (super-vertex -> representative)
+    private void contract(int[] group) {
+        int[] newId = new int[cn];
+        Arrays.fill(newId, -1);
+        int m = 0;
+        for (int x = 0; x < cn; x++) {
+            if (newId[group[x]] < 0) newId[group[x]] = m++;
+        }
+        for (int v = 0; v < g.n; v++) {
+            owner[v] = newId[group[owner[v]]];
+        }
+        // members of each new super-vertex, so its arcs can be summed in one pass
+        int[] count = new int[m + 1];
+        for (int x = 0; x < cn; x++) {
+            count[newId[group[x]] + 1]++;
+        }
+        for (int i = 0; i < m; i++) {
+            count[i + 1] += count[i];
+        }
+        int[] byGroup = new int[cn];
+        int[] fill = Arrays.copyOf(count, m);
+        for (int x = 0; x < cn; x++) {
+            byGroup[fill[newId[group[x]]]++] = x;
+        }
+        int[] newStart = new int[m + 1];
+        int[] newHead = new int[start[cn]];
+        long[] newWeight = new long[start[cn]];
+        int[] slot = new int[m];
+        int[] stamp = new int[m];
+        int arcs = 0;
+        for (int z = 0; z < m; z++) {
+            newStart[z] = arcs;
+            for (int i = count[z]; i < count[z + 1]; i++) {
+                int x = byGroup[i];
+                for (int a = start[x]; a < start[x + 1]; a++) {
+                    int y = newId[group[head[a]]];
+                    if (y == z || weight[a] == 0) continue;
+                    if (stamp[y] != z + 1) {
+                        stamp[y] = z + 1;
+                        slot[y] = arcs;
+                        newHead[arcs] = y;
+                        newWeight[arcs++] = 0;
+                    }
+                    newWeight[slot[y]] += weight[a];
+                }
+            }
+        }
+        newStart[m] = arcs;
+        cn = m;
+        start = newStart;
+        head = newHead;
+        weight = newWeight;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        a = find(parent, a);
+        b = find(parent, b);
+        if (a != b) parent[b] = a;
+    }
+
+    public boolean crosses(int u, int v) {
+        return side[u] != side[v];
+    }
+}
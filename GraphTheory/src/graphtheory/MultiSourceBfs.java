@@ -0,0 +1,104 @@
+package graphtheory;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unweighted all-pairs distances by multi-source BFS (MS-BFS). Sources are
+ * taken 64 at a time, one per bit of a long: seen[v] and frontier[v] hold the
+ * set of sources that have reached v / reached it in the last level, so one
+ * pass over the CSR arcs advances all 64 searches by a level. Batches are
+ * independent and run on a ForkJoinPool with per-thread scratch arrays.
+ */
+public class MultiSourceBfs {
+
+    private final ForkJoinPool pool;
+
+    public long lastElapsedNanos; // wall time of the last run
+
+    public MultiSourceBfs() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public MultiSourceBfs(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Hop distance matrix of g (arcs followed as stored) with 'unreachable' for pairs that have no path
+    public int[][] distanceMatrix(final GraphSnapshot g, final int unreachable) {
+        final int[][] matrix = new int[g.n][];
+        for (int s = 0; s < g.n; s++) {
+            matrix[s] = new int[g.n];
+            Arrays.fill(matrix[s], unreachable);
+            matrix[s][s] = 0;
+        }
+        run(g, matrix, null, null);
+        return matrix;
+    }
+
+    // Eccentricity of every source over the vertices it reaches (0 if none);
+    // reached[s] receives how many vertices s reaches, itself included
+    public int[] eccentricities(GraphSnapshot g, int[] reached) {
+        int[] ecc = new int[g.n];
+        run(g, null, ecc, reached);
+        return ecc;
+    }
+
+    private void run(final GraphSnapshot g, final int[][] matrix, final int[] ecc, final int[] reached) {
+        final ThreadLocal<long[][]> scratch = new ThreadLocal<long[][]>() {
+            @Override protected long[][] initialValue() { return new long[3][g.n]; }
+        };
+        int batches = (g.n + 63) >>> 6;
+        long start = System.nanoTime();
+        pool.invoke(new ParallelShortestPaths.SourceRange(0, batches, new ParallelShortestPaths.RowJob() {
+            public void row(int batch) {
+                long[][] s = scratch.get();
+                bfs(g, batch << 6, s[0], s[1], s[2], matrix, ecc, reached);
+            }
+        }));
+        lastElapsedNanos = System.nanoTime() - start;
+    }
+
+    // BFS from sources first .. first + 63 at once; bit i of a word stands for source first + i
+    private static void bfs(GraphSnapshot g, int first, long[] seen, long[] frontier, long[] next,
+                            int[][] matrix, int[] ecc, int[] reached) {
+        int n = g.n;
+        int count = Math.min(64, n - first);
+        int[] offsets = g.offsets, targets = g.targets;
+        Arrays.fill(seen, 0L);
+        Arrays.fill(frontier, 0L);
+        for (int i = 0; i < count; i++) {
+            seen[first + i] = 1L << i;
+            frontier[first + i] = 1L << i;
+            if (reached != null) reached[first + i] = 1;
+        }
+
+        boolean active = true;
+        for (int level = 1; active; level++) {
+            // Push every frontier word along the out-arcs of its vertex
+            Arrays.fill(next, 0L);
+            for (int u = 0; u < n; u++) {
+                long f = frontier[u];
+                if (f == 0) continue;
+                for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                    next[targets[a]] |= f;
+                }
+            }
+            active = false;
+            for (int v = 0; v < n; v++) {
+                long fresh = next[v] & ~seen[v];
+                frontier[v] = fresh;
+                if (fresh == 0) continue;
+                active = true;
+                seen[v] |= fresh;
+                // Visit only the set bits: each one is a source that reaches v at this level
+                for (long bits = fresh; bits != 0; bits &= bits - 1) {
+                    int src = first + Long.numberOfTrailingZeros(bits);
+                    if (matrix != null) matrix[src][v] = level;
+                    if (ecc != null) ecc[src] = level;
+                    if (reached != null) reached[src]++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package graphtheory;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * All-pairs shortest paths by running one Dijkstra per source on a ForkJoinPool.
+ * Each worker thread keeps its own DijkstraEngine (and therefore its own heap
+ * and distance buffers) and writes finished rows straight into the matrix.
+ */
+public class ParallelShortestPaths {
+
+    private static final int SOURCES_PER_TASK = 16;
+
+    private final ForkJoinPool pool;
+
+    // Metrics of the last run
+    public long lastElapsedNanos;
+    public long lastWorkNanos;    // sum of per-row compute time over all workers
+    public int lastParallelism;
+
+    public ParallelShortestPaths() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelShortestPaths(int parallelism) {
+        this(new ForkJoinPool(parallelism));
+    }
+
+    public ParallelShortestPaths(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Distance matrix of g with 'unreachable' stored for pairs that have no path
+    public int[][] distanceMatrix(GraphSnapshot g, int unreachable) {
+        return distanceMatrix(g, null, unreachable);
+    }
+
+    // As above for a graph reweighted by Johnson potentials: row s maps d'(s,t) back to d'(s,t) - h[s] + h[t]
+    public int[][] distanceMatrix(final GraphSnapshot g, final int[] potential, final int unreachable) {
+        final int[][] matrix = new int[g.n][];
+        final AtomicLong work = new AtomicLong();
+        final ThreadLocal<DijkstraEngine> engines = new ThreadLocal<DijkstraEngine>() {
+            @Override protected DijkstraEngine initialValue() { return new DijkstraEngine(g); }
+        };
+
+        long start = System.nanoTime();
+        pool.invoke(new SourceRange(0, g.n, new RowJob() {
+            public void row(int s) {
+                long t0 = System.nanoTime();
+                DijkstraEngine engine = engines.get();
+                engine.run(s);
+                int[] dist = engine.distances();
+                int[] out = new int[g.n];
+                for (int t = 0; t < g.n; t++) {
+                    if (dist[t] == DijkstraEngine.INF) {
+                        out[t] = unreachable;
+                    } else {
+                        out[t] = potential == null ? dist[t] : dist[t] - potential[s] + potential[t];
+                    }
+                }
+                matrix[s] = out;
+                work.addAndGet(System.nanoTime() - t0);
+            }
+        }));
+        lastElapsedNanos = System.nanoTime() - start;
+        lastWorkNanos = work.get();
+        lastParallelism = pool.getParallelism();
+        return matrix;
+    }
+
+    // Eccentricity of every source over the vertices it reaches (0 if none), without keeping the rows;
+    // reached[s] receives how many vertices s reaches, itself included
+    public int[] eccentricities(final GraphSnapshot g, final int[] reached) {
+        final int[] ecc = new int[g.n];
+        final ThreadLocal<DijkstraEngine> engines = new ThreadLocal<DijkstraEngine>() {
+            @Override protected DijkstraEngine initialValue() { return new DijkstraEngine(g); }
+        };
+        pool.invoke(new SourceRange(0, g.n, new RowJob() {
+            public void row(int s) {
+                DijkstraEngine engine = engines.get();
+                engine.run(s);
+                int[] dist = engine.distances();
+                int e = 0, count = 0;
+                for (int t = 0; t < g.n; t++) {
+                    if (dist[t] == DijkstraEngine.INF) continue;
+                    e = Math.max(e, dist[t]);
+                    count++;
+                }
+                ecc[s] = e;
+                reached[s] = count;
+            }
+        }));
+        return ecc;
+    }
+
+    // Work done per unit of wall-clock time in the last run (1.0 = no speedup)
+    public double speedup() {
+        return lastElapsedNanos == 0 ? 1.0 : (double) lastWorkNanos / lastElapsedNanos;
+    }
+
+    public String describeLastRun() {
+        return String.format("APSP: %.1f ms wall, %.1f ms work, %d threads, speedup %.2fx",
+                lastElapsedNanos / 1e6, lastWorkNanos / 1e6, lastParallelism, speedup());
+    }
+
+    // Per-source unit of work; implementations must only write state owned by row s
+    interface RowJob {
+        void row(int s);
+    }
+
+    // Splits [lo, hi) in halves until a chunk is small enough to compute directly
+    static class SourceRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final int lo, hi;
+        private final RowJob job;
+
+        SourceRange(int lo, int hi, RowJob job) {
+            this.lo = lo;
+            this.hi = hi;
+            this.job = job;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= SOURCES_PER_TASK) {
+                for (int s = lo; s < hi; s++) job.row(s);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SourceRange(lo, mid, job), new SourceRange(mid, hi, job));
+        }
+    }
+}
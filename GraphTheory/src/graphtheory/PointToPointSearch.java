@@ -0,0 +1,185 @@
+package graphtheory;
+
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * Single source -> target shortest path queries for the Shortest Path tool.
+ * Non-negative graphs are searched with A* (Euclidean distance between vertex
+ * locations times the smallest weight per pixel of any arc, which never
+ * overestimates) or bidirectional Dijkstra; Bellman-Ford is only used when a
+ * negative weight is present.
+ */
+public class PointToPointSearch {
+
+    public enum Mode { BIDIRECTIONAL, ASTAR, BELLMAN_FORD }
+
+    private static final int INF = DijkstraEngine.INF;
+
+    private final GraphSnapshot g;
+    private GraphSnapshot reverse;
+    private int[] distF, prevF, distB, nextB;
+    private IndexedHeap heapF, heapB;
+    private double weightPerPixel = -1;
+    private int[] negativeCycle;
+    public Mode lastMode;
+
+    public PointToPointSearch(GraphSnapshot g) {
+        this.g = g;
+    }
+
+    public Mode chooseMode() {
+        if (g.hasNegativeWeight()) return Mode.BELLMAN_FORD;
+        return weightPerPixel() > 0 ? Mode.ASTAR : Mode.BIDIRECTIONAL;
+    }
+
+    // Vertex indices from source to target, or null if unreachable or a negative cycle is reachable
+    public int[] path(int source, int target) {
+        return path(source, target, chooseMode());
+    }
+
+    public int[] path(int source, int target, Mode mode) {
+        lastMode = mode;
+        negativeCycle = null;
+        // Bellman-Ford still runs for source == target, since a reachable negative cycle must be reported
+        if (mode == Mode.BELLMAN_FORD) return bellmanFord(source, target);
+        if (source == target) return new int[]{source};
+        return mode == Mode.ASTAR ? astar(source, target) : bidirectional(source, target);
+    }
+
+    // Vertex indices of the negative cycle met by the last Bellman-Ford query; null if none
+    public int[] negativeCycle() {
+        return negativeCycle;
+    }
+
+    private void ensureForward() {
+        if (distF != null) return;
+        distF = new int[g.n];
+        prevF = new int[g.n];
+        heapF = new IndexedHeap(g.n);
+    }
+
+    private int[] astar(int s, int t) {
+        ensureForward();
+        Arrays.fill(distF, INF);
+        Arrays.fill(prevF, -1);
+        heapF.clear();
+        double ratio = Math.max(0, weightPerPixel());
+        Point goal = g.vertices[t].location;
+
+        distF[s] = 0;
+        heapF.push(s, heuristic(s, goal, ratio));
+        while (!heapF.isEmpty()) {
+            int u = heapF.pop();
+            if (u == t) break;
+            for (int a = g.offsets[u]; a < g.offsets[u + 1]; a++) {
+                int v = g.targets[a];
+                long nd = (long) distF[u] + Math.max(0, g.weights[a]);
+                if (nd < distF[v]) {
+                    distF[v] = (int) nd;
+                    prevF[v] = u;
+                    // re-pushing a popped vertex reopens it, so rounding in the heuristic cannot cost optimality
+                    heapF.push(v, nd + heuristic(v, goal, ratio));
+                }
+            }
+        }
+        return distF[t] == INF ? null : trace(prevF, t);
+    }
+
+    private long heuristic(int v, Point goal, double ratio) {
+        return (long) Math.floor(ratio * g.vertices[v].location.distance(goal));
+    }
+
+    private int[] bidirectional(int s, int t) {
+        ensureForward();
+        if (reverse == null) {
+            reverse = g.reversed();
+            distB = new int[g.n];
+            nextB = new int[g.n];
+            heapB = new IndexedHeap(g.n);
+        }
+        Arrays.fill(distF, INF);
+        Arrays.fill(prevF, -1);
+        Arrays.fill(distB, INF);
+        Arrays.fill(nextB, -1);
+        heapF.clear();
+        heapB.clear();
+
+        distF[s] = 0;
+        distB[t] = 0;
+        heapF.push(s, 0);
+        heapB.push(t, 0);
+        long best = INF;
+        int meet = -1;
+        while (!heapF.isEmpty() && !heapB.isEmpty()) {
+            if (heapF.peekKey() + heapB.peekKey() >= best) break;
+            boolean forward = heapF.peekKey() <= heapB.peekKey();
+            GraphSnapshot side = forward ? g : reverse;
+            IndexedHeap heap = forward ? heapF : heapB;
+            int[] dist = forward ? distF : distB;
+            int[] link = forward ? prevF : nextB;
+            int[] other = forward ? distB : distF;
+
+            int u = heap.pop();
+            for (int a = side.offsets[u]; a < side.offsets[u + 1]; a++) {
+                int v = side.targets[a];
+                long nd = (long) dist[u] + Math.max(0, side.weights[a]);
+                if (nd < dist[v]) {
+                    dist[v] = (int) nd;
+                    link[v] = u;
+                    heap.push(v, nd);
+                }
+                if (other[v] < INF && nd + other[v] < best) {
+                    best = nd + other[v];
+                    meet = v;
+                }
+            }
+        }
+        if (meet < 0) return null;
+
+        // source .. meet from the forward tree, then meet .. target from the backward tree
+        int[] head = trace(prevF, meet);
+        int tail = 0;
+        for (int v = nextB[meet]; v != -1; v = nextB[v]) tail++;
+        int[] path = Arrays.copyOf(head, head.length + tail);
+        int i = head.length;
+        for (int v = nextB[meet]; v != -1; v = nextB[v]) path[i++] = v;
+        return path;
+    }
+
+    private int[] bellmanFord(int s, int t) {
+        BellmanFordEngine engine = new BellmanFordEngine(g);
+        if (!engine.run(s)) {
+            negativeCycle = engine.negativeCycle();
+            return null;
+        }
+        return engine.distances()[t] == INF ? null : trace(engine.predecessors(), t);
+    }
+
+    private int[] trace(int[] prev, int t) {
+        int len = 0;
+        for (int v = t; v != -1 && len <= g.n; v = prev[v]) len++;
+        int[] path = new int[len];
+        int v = t;
+        for (int i = len - 1; i >= 0; i--) {
+            path[i] = v;
+            v = prev[v];
+        }
+        return path;
+    }
+
+    // Smallest weight / Euclidean length over all arcs of non-zero length; 0 disables the A* heuristic
+    private double weightPerPixel() {
+        if (weightPerPixel >= 0) return weightPerPixel;
+        double best = Double.MAX_VALUE;
+        for (int u = 0; u < g.n; u++) {
+            Point pu = g.vertices[u].location;
+            for (int a = g.offsets[u]; a < g.offsets[u + 1]; a++) {
+                double len = pu.distance(g.vertices[g.targets[a]].location);
+                if (len > 0) best = Math.min(best, Math.max(0, g.weights[a]) / len);
+            }
+        }
+        weightPerPixel = best == Double.MAX_VALUE ? 0 : best;
+        return weightPerPixel;
+    }
+}
@@ -0,0 +1,153 @@
+package graphtheory;
+
+import java.util.Vector;
+
+/**
+ * Graph properties shown by the canvas, remembered per graph version. Canvas
+ * bumps its version on every topology or weight edit; repaints that only move
+ * the mouse, drag a vertex or pan ask for the same version again and get the
+ * stored values back without running any graph algorithm.
+ */
+public class PropertyCache {
+
+    private final GraphProperties gP;
+
+    private long summaryVersion = -1;
+    public int vertexCount;
+    public int edgeCount;
+    public double density;
+    public int[] degrees;
+    public int diameter, diameterUpper;
+    public int radius = Integer.MAX_VALUE, radiusLower = Integer.MAX_VALUE;
+    public boolean diameterExact = true;
+    public int degeneracy;
+
+    private long matrixVersion = -1;
+    private boolean matrixWeighted;
+    private int[][] matrix; // the gP.distanceMatrix this cache produced; anything else is stale
+
+    private long connectivityVersion = -1;
+    public int connectivity;
+    public Vector<Vertex> separatingSet;
+
+    private long blocksVersion = -1;
+    public Vector<Vertex> cutVertices;
+    public int bridgeCount;
+
+    private long sccVersion = -1;
+    private boolean sccDirected;
+    private StronglyConnectedComponents scc;
+
+    private long cutVersion = -1;
+    private boolean cutWeighted;
+    public long edgeConnectivity;
+    public Vector<Edge> cutEdges;
+
+    public PropertyCache(GraphProperties gP) {
+        this.gP = gP;
+    }
+
+    // Counts, density, degrees, degeneracy, diameter and radius, recomputed only when version has moved
+    public void summary(long version, Vector<Vertex> vList, Vector<Edge> eList) {
+        if (version == summaryVersion) return;
+        vertexCount = vList.size();
+        edgeCount = eList.size();
+        density = 0;
+        if (vertexCount > 1) {
+            density = (2.0 * edgeCount) / (vertexCount * (vertexCount - 1));
+        }
+        degrees = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            degrees[i] = vList.get(i).getDegree();
+        }
+        degeneracy = 0;
+        if (vertexCount > 0) {
+            GraphSnapshot g = new GraphSnapshot(vList, eList).undirectedUnweighted();
+            gP.coreNumbers(g);
+            degeneracy = gP.cores.degeneracy;
+            // copied out of gP, which other commands reuse for their own diameter/radius queries
+            gP.computeDiameterRadius(g);
+            diameter = gP.diameter;
+            diameterUpper = gP.diameterUpper;
+            radius = gP.radius;
+            radiusLower = gP.radiusLower;
+            diameterExact = gP.diameterExact;
+        }
+        summaryVersion = version;
+    }
+
+    // Fills gP.distanceMatrix (weighted or hop counts) unless it already holds that matrix for this version;
+    // the key has no directionality, so every caller must pass the directed snapshot of vList and eList
+    public void distanceMatrix(long version, GraphSnapshot g, boolean weighted) {
+        if (version == matrixVersion && weighted == matrixWeighted && gP.distanceMatrix == matrix) return;
+        if (weighted) {
+            gP.generateDistanceMatrixWeighted(g);
+        } else {
+            gP.generateDistanceMatrix(g);
+        }
+        matrix = gP.distanceMatrix;
+        matrixVersion = version;
+        matrixWeighted = weighted;
+    }
+
+    // Vertex connectivity and a minimum separating set, recomputed only when version has moved
+    public Vector<Vertex> connectivity(long version, GraphSnapshot g) {
+        if (version != connectivityVersion) {
+            separatingSet = gP.vertexConnectivity(g);
+            connectivity = gP.connectivity;
+            connectivityVersion = version;
+        }
+        return separatingSet;
+    }
+
+    public boolean connectivityKnown(long version) {
+        return version == connectivityVersion;
+    }
+
+    // Articulation points (bridges counted alongside), recomputed only when version has moved
+    public Vector<Vertex> cutVertices(long version, GraphSnapshot g) {
+        if (version != blocksVersion) {
+            cutVertices = gP.articulationPoints(g);
+            bridgeCount = gP.blocks.bridges.length;
+            blocksVersion = version;
+        }
+        return cutVertices;
+    }
+
+    public boolean cutVerticesKnown(long version) {
+        return version == blocksVersion;
+    }
+
+    // Strongly connected components of g, which must have the arcs of this version under the given
+    // directionality; reused until either changes
+    public StronglyConnectedComponents strongComponents(long version, boolean directed, GraphSnapshot g) {
+        if (version != sccVersion || directed != sccDirected || scc.g.n != g.n) {
+            scc = new StronglyConnectedComponents(g);
+            sccVersion = version;
+            sccDirected = directed;
+        }
+        return scc;
+    }
+
+    // Minimum edge cut (edge directions ignored) and the edges crossing it, recomputed only when version
+    // or the weighting has moved
+    public Vector<Edge> minimumCut(long version, boolean weighted, Vector<Vertex> vList, Vector<Edge> eList) {
+        if (version != cutVersion || weighted != cutWeighted) {
+            GraphSnapshot g = new GraphSnapshot(vList, eList, false);
+            MinimumCutEngine engine = gP.minimumCut(g, weighted);
+            edgeConnectivity = gP.edgeConnectivity;
+            cutEdges = new Vector<Edge>();
+            for (Edge e : eList) {
+                int u = g.indexOf(e.vertex1), v = g.indexOf(e.vertex2);
+                if (u >= 0 && v >= 0 && engine.crosses(u, v)) cutEdges.add(e);
+            }
+            cutVersion = version;
+            cutWeighted = weighted;
+        }
+        return cutEdges;
+    }
+
+    public boolean minimumCutKnown(long version, boolean weighted) {
+        return version == cutVersion && weighted == cutWeighted;
+    }
+}
@@ -0,0 +1,140 @@
+package graphtheory;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily enumerates the simple paths from s to t as int[] vertex sequences,
+ * in the same depth-first order as a recursive search over the arcs. The
+ * search state is an explicit stack (vertex and arc cursor per depth) plus an
+ * on-path bitmask, so memory stays O(V) however many paths there are.
+ *
+ * Paths can be limited to minLength .. maxLength edges, and vertices set in
+ * an exclusion mask are never used between s and t. With a length limit the
+ * search is pruned by BFS distances to t. Parallel arcs yield the same path
+ * more than once, so pass a simple graph such as undirectedUnweighted().
+ */
+public class SimplePathIterator implements Iterator<int[]> {
+
+    private final int[] offsets, targets;
+    private final int target;
+    private final int minLength, maxLength;
+    private final long[] excluded;
+    private final long[] onPath;
+    private final int[] path;
+    private final int[] cursor;
+    private final int[] toTarget; // fewest edges from a vertex to t, -1 if none; null without a length limit
+    private int depth;
+    private int[] next;
+
+    // excluded is a bitmask over vertex indices and may be null
+    public SimplePathIterator(GraphSnapshot g, int s, int t, int minLength, int maxLength, long[] excluded) {
+        int n = g.n;
+        this.offsets = g.offsets;
+        this.targets = g.targets;
+        this.target = t;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.excluded = excluded;
+        onPath = new long[(n + 63) >>> 6];
+        path = new int[n];
+        cursor = new int[n];
+        toTarget = maxLength < n ? distancesTo(n, s, t) : null;
+
+        if (s == t) {
+            if (minLength == 0) next = new int[]{s};
+            return;
+        }
+        push(s);
+        next = advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public int[] next() {
+        if (next == null) throw new NoSuchElementException();
+        int[] result = next;
+        next = depth > 0 ? advance() : null;
+        return result;
+    }
+
+    // Resume the depth-first search until the next path to t is found; null when exhausted
+    private int[] advance() {
+        while (depth > 0) {
+            int u = path[depth - 1];
+            if (cursor[depth - 1] == offsets[u + 1]) {
+                depth--;
+                onPath[u >>> 6] &= ~(1L << u);
+                continue;
+            }
+            int v = targets[cursor[depth - 1]++];
+            if (isSet(onPath, v)) continue;
+            int edges = depth; // edges on the path once v is appended
+            if (v == target) {
+                if (edges >= minLength && edges <= maxLength) {
+                    int[] found = new int[depth + 1];
+                    System.arraycopy(path, 0, found, 0, depth);
+                    found[depth] = v;
+                    return found;
+                }
+                continue;
+            }
+            if (excluded != null && isSet(excluded, v)) continue;
+            if (toTarget != null && (toTarget[v] < 0 || edges + toTarget[v] > maxLength)) continue;
+            push(v);
+        }
+        return null;
+    }
+
+    private void push(int v) {
+        path[depth] = v;
+        cursor[depth] = offsets[v];
+        onPath[v >>> 6] |= 1L << v;
+        depth++;
+    }
+
+    private static boolean isSet(long[] mask, int v) {
+        return (mask[v >>> 6] & (1L << v)) != 0;
+    }
+
+    // BFS from t over reversed arcs, through allowed vertices only
+    private int[] distancesTo(int n, int s, int t) {
+        int[] revOffsets = new int[n + 1];
+        for (int a = 0; a < offsets[n]; a++) {
+            revOffsets[targets[a] + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            revOffsets[u + 1] += revOffsets[u];
+        }
+        int[] revTargets = new int[offsets[n]];
+        int[] fill = new int[n];
+        System.arraycopy(revOffsets, 0, fill, 0, n);
+        for (int u = 0; u < n; u++) {
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                revTargets[fill[targets[a]]++] = u;
+            }
+        }
+
+        int[] dist = new int[n];
+        java.util.Arrays.fill(dist, -1);
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        dist[t] = 0;
+        queue[tail++] = t;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int a = revOffsets[v]; a < revOffsets[v + 1]; a++) {
+                int u = revTargets[a];
+                if (dist[u] >= 0) continue;
+                if (u != s && excluded != null && isSet(excluded, u)) continue;
+                dist[u] = dist[v] + 1;
+                queue[tail++] = u;
+            }
+        }
+        return dist;
+    }
+}
@@ -0,0 +1,110 @@
+package graphtheory;
+
+import java.util.Arrays;
+
+/**
+ * Residual network for vertex-disjoint path problems. Node 2v is v_in and
+ * 2v + 1 is v_out, joined by a capacity-1, cost-0 edge; every arc u -> w of
+ * the snapshot becomes u_out -> w_in with capacity 1 and the arc weight as
+ * cost. Residual edges are stored per tail node (CSR) with the index of their
+ * reverse, so flows can be reset and re-run per vertex pair without
+ * allocating.
+ */
+class SplitNetwork {
+
+    final GraphSnapshot g;
+    final int nodes;
+    final int[] start;   // residual edges leaving node x are start[x] .. start[x + 1] - 1
+    final int[] head;
+    final int[] rev;     // index of the reverse residual edge
+    final int[] cost;    // reverse edges carry the negated cost
+    final boolean[] forward; // original (capacity 1) edge rather than a reverse one
+    final int[] cap;
+    private final int[] baseCap;
+    private final boolean[] used; // flow edges already given to a path by paths()
+    private final int[] walk;
+
+    SplitNetwork(GraphSnapshot g) {
+        this.g = g;
+        nodes = 2 * g.n;
+
+        int[] deg = new int[nodes + 1];
+        for (int v = 0; v < g.n; v++) {
+            deg[2 * v]++;
+            deg[2 * v + 1]++;
+        }
+        for (int u = 0; u < g.n; u++) {
+            for (int a = g.offsets[u]; a < g.offsets[u + 1]; a++) {
+                if (g.targets[a] == u) continue;
+                deg[2 * u + 1]++;
+                deg[2 * g.targets[a]]++;
+            }
+        }
+        start = new int[nodes + 1];
+        for (int x = 0; x < nodes; x++) {
+            start[x + 1] = start[x] + deg[x];
+        }
+        int edges = start[nodes];
+        head = new int[edges];
+        rev = new int[edges];
+        cost = new int[edges];
+        forward = new boolean[edges];
+        baseCap = new int[edges];
+        int[] fill = Arrays.copyOf(start, nodes);
+        for (int v = 0; v < g.n; v++) {
+            link(fill, 2 * v, 2 * v + 1, 0);
+        }
+        for (int u = 0; u < g.n; u++) {
+            for (int a = g.offsets[u]; a < g.offsets[u + 1]; a++) {
+                if (g.targets[a] != u) link(fill, 2 * u + 1, 2 * g.targets[a], Math.max(0, g.weights[a]));
+            }
+        }
+        cap = new int[edges];
+        used = new boolean[edges];
+        walk = new int[g.n];
+    }
+
+    // Capacity-1 edge from -> to plus its 0-capacity reverse
+    private void link(int[] fill, int from, int to, int c) {
+        int e = fill[from]++;
+        int r = fill[to]++;
+        head[e] = to;
+        rev[e] = r;
+        forward[e] = true;
+        baseCap[e] = 1;
+        cost[e] = c;
+        head[r] = from;
+        rev[r] = e;
+        cost[r] = -c;
+    }
+
+    // Back to zero flow
+    void reset() {
+        System.arraycopy(baseCap, 0, cap, 0, cap.length);
+    }
+
+    // Decomposes the current s_out -> t_in flow of value count into paths of vertex indices from s to t
+    int[][] paths(int s, int t, int count) {
+        int source = 2 * s + 1, sink = 2 * t;
+        int[][] paths = new int[count][];
+        Arrays.fill(used, false);
+        for (int p = 0; p < count; p++) {
+            int len = 0;
+            walk[len++] = s;
+            int x = source;
+            while (x != sink) {
+                // follow an edge that carries flow and has not been given to an earlier path
+                int e = start[x];
+                while (!(forward[e] && cap[e] == 0 && !used[e])) e++;
+                used[e] = true;
+                x = head[e];
+                if ((x & 1) == 0) {
+                    walk[len++] = x >> 1;
+                    if (x != sink) x++; // through the vertex's own in -> out edge
+                }
+            }
+            paths[p] = Arrays.copyOf(walk, len);
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,202 @@
+package graphtheory;
+
+import java.util.Arrays;
+
+/**
+ * Strongly connected components of a snapshot's arcs by Tarjan's algorithm,
+ * with an explicit (vertex, arc cursor) stack, in O(V + E). Components are
+ * numbered in topological order of the condensation DAG, so every arc between
+ * components goes from a lower id to a higher one; a vertex can only reach
+ * vertices whose component id is not smaller than its own.
+ *
+ * On an undirected snapshot the components are the connected components and
+ * the condensation has no arcs.
+ */
+public class StronglyConnectedComponents {
+
+    public final GraphSnapshot g;
+    public int count;
+    public int[] componentOf;   // vertex -> component id, 0 .. count - 1 in topological order
+    public int[] size;          // vertices per component
+    public int[] dagOffsets;    // condensation arcs of c: dagTargets[dagOffsets[c] .. dagOffsets[c + 1] - 1], no duplicates
+    public int[] dagTargets;
+    private long[] reachCount;  // filled by reachableCounts()
+    private int[] seen;         // canReach() stamps
+    private int[] queue;
+    private int stamp;
+
+    public StronglyConnectedComponents(GraphSnapshot g) {
+        this.g = g;
+        compute();
+        condense();
+    }
+
+    public boolean stronglyConnected() {
+        return count <= 1;
+    }
+
+    // Whether t is reachable from s: O(1) unless s's component precedes t's, then a search over the
+    // condensation limited to components up to t's
+    public boolean canReach(int s, int t) {
+        int cs = componentOf[s], ct = componentOf[t];
+        if (cs == ct) return true;
+        if (cs > ct) return false;
+        if (reachCount != null && reachCount[cs] == size[cs]) return false; // cs reaches no other component
+        if (seen == null) {
+            seen = new int[count];
+            queue = new int[count];
+        }
+        stamp++;
+        int head = 0, tail = 0;
+        queue[tail++] = cs;
+        seen[cs] = stamp;
+        while (head < tail) {
+            int c = queue[head++];
+            for (int a = dagOffsets[c]; a < dagOffsets[c + 1]; a++) {
+                int d = dagTargets[a];
+                if (d == ct) return true;
+                if (d < ct && seen[d] != stamp) {
+                    seen[d] = stamp;
+                    queue[tail++] = d;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Number of vertices reachable from each vertex, itself included. Reachability over the
+    // condensation is propagated for 64 target components at a time in one reverse topological
+    // sweep, so this costs O((count / 64) * (count + DAG arcs)) time and O(count) extra memory.
+    public long[] reachableCounts() {
+        if (reachCount == null) {
+            long[] perComponent = new long[count];
+            long[] bits = new long[count];
+            for (int base = 0; base < count; base += 64) {
+                int end = Math.min(count, base + 64);
+                // only components up to end - 1 can reach this batch
+                for (int c = end - 1; c >= 0; c--) {
+                    long b = c >= base ? 1L << (c - base) : 0;
+                    for (int a = dagOffsets[c]; a < dagOffsets[c + 1]; a++) {
+                        int d = dagTargets[a];
+                        if (d < end) b |= bits[d];
+                    }
+                    bits[c] = b;
+                    while (b != 0) {
+                        perComponent[c] += size[base + Long.numberOfTrailingZeros(b)];
+                        b &= b - 1;
+                    }
+                }
+            }
+            reachCount = perComponent;
+        }
+        long[] counts = new long[g.n];
+        for (int v = 0; v < g.n; v++) {
+            counts[v] = reachCount[componentOf[v]];
+        }
+        return counts;
+    }
+
+    private void compute() {
+        int n = g.n;
+        int[] offsets = g.offsets, targets = g.targets;
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] cursor = new int[n];
+        int[] stack = new int[n];      // DFS path
+        int[] pending = new int[n];    // Tarjan's component stack
+        boolean[] onPending = new boolean[n];
+        Arrays.fill(index, -1);
+        componentOf = new int[n];
+        int time = 0, found = 0;
+
+        for (int r = 0; r < n; r++) {
+            if (index[r] >= 0) continue;
+            int depth = 0, top = 0;
+            index[r] = low[r] = time++;
+            cursor[r] = offsets[r];
+            stack[depth++] = r;
+            pending[top++] = r;
+            onPending[r] = true;
+            while (depth > 0) {
+                int u = stack[depth - 1];
+                if (cursor[u] < offsets[u + 1]) {
+                    int w = targets[cursor[u]++];
+                    if (index[w] < 0) {
+                        index[w] = low[w] = time++;
+                        cursor[w] = offsets[w];
+                        stack[depth++] = w;
+                        pending[top++] = w;
+                        onPending[w] = true;
+                    } else if (onPending[w] && index[w] < low[u]) {
+                        low[u] = index[w];
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0) {
+                    int p = stack[depth - 1];
+                    if (low[u] < low[p]) low[p] = low[u];
+                }
+                if (low[u] == index[u]) {
+                    int w;
+                    do {
+                        w = pending[--top];
+                        onPending[w] = false;
+                        componentOf[w] = found;
+                    } while (w != u);
+                    found++;
+                }
+            }
+        }
+        // Tarjan completes sinks first; flip to topological order
+        count = found;
+        size = new int[count];
+        for (int v = 0; v < n; v++) {
+            componentOf[v] = count - 1 - componentOf[v];
+            size[componentOf[v]]++;
+        }
+    }
+
+    private void condense() {
+        int n = g.n;
+        int[] deg = new int[count + 1];
+        int[] last = new int[count];
+        Arrays.fill(last, -1);
+        // Vertices grouped by component so each component's arcs are deduplicated in one pass
+        int[] start = new int[count + 1];
+        for (int c = 0; c < count; c++) {
+            start[c + 1] = start[c] + size[c];
+        }
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(start, count);
+        for (int v = 0; v < n; v++) {
+            members[fill[componentOf[v]]++] = v;
+        }
+        for (int pass = 0; pass < 2; pass++) {
+            Arrays.fill(last, -1);
+            int[] pos = pass == 1 ? Arrays.copyOf(dagOffsets, count) : null;
+            for (int c = 0; c < count; c++) {
+                for (int i = start[c]; i < start[c + 1]; i++) {
+                    int u = members[i];
+                    for (int a = g.offsets[u]; a < g.offsets[u + 1]; a++) {
+                        int d = componentOf[g.targets[a]];
+                        if (d == c || last[d] == c) continue;
+                        last[d] = c;
+                        if (pass == 0) {
+                            deg[c]++;
+                        } else {
+                            dagTargets[pos[c]++] = d;
+                        }
+                    }
+                }
+            }
+            if (pass == 0) {
+                dagOffsets = new int[count + 1];
+                for (int c = 0; c < count; c++) {
+                    dagOffsets[c + 1] = dagOffsets[c] + deg[c];
+                }
+                dagTargets = new int[dagOffsets[count]];
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ public class Vertex implements Comparable {
     public Color color;
 
     public String name;
+    public int id = -1; // position in the canvas vertex list, assigned by its live VertexIndex
     public Point location;
     public boolean wasFocused;
     public boolean wasClicked;
@@ -0,0 +1,99 @@
+package graphtheory;
+
+/**
+ * Exact vertex connectivity kappa(G) and a minimum separating set, by Even's
+ * reduction to max-flow with the Esfahanian-Hakimi choice of pairs. Take a
+ * vertex v of minimum degree: a minimum separator S either misses v, and then
+ * separates v from some non-neighbour w, or contains v, and then separates
+ * two non-adjacent neighbours of v. So kappa(G) is the smallest local
+ * connectivity over those pairs, each one a DisjointPathsEngine flow capped
+ * at the best value found so far. Disconnected graphs and graphs with a cut
+ * vertex are settled by BiconnectedComponents without any flow.
+ *
+ * Works on an undirected copy of the snapshot; the live Vertex lists are
+ * never read or changed.
+ */
+public class VertexCutEngine {
+
+    private final GraphSnapshot g;
+
+    // Results of compute()
+    public int connectivity;
+    public int[] separatingSet = new int[0]; // vertex indices; empty when G is complete or disconnected
+    public int flows;                        // max-flow runs needed
+
+    public VertexCutEngine(GraphSnapshot g) {
+        this.g = g.undirectedUnweighted();
+    }
+
+    public int compute() {
+        int n = g.n;
+        flows = 0;
+        separatingSet = new int[0];
+        if (n <= 1) {
+            connectivity = 0;
+            return connectivity;
+        }
+        // Linear-time answers first: kappa is 0 when disconnected and 1 when there is a cut vertex
+        BiconnectedComponents blocks = new BiconnectedComponents(g);
+        if (blocks.components > 1) {
+            connectivity = 0;
+            return connectivity;
+        }
+        if (blocks.articulationPoints.length > 0) {
+            connectivity = 1;
+            separatingSet = new int[]{blocks.articulationPoints[0]};
+            return connectivity;
+        }
+
+        // kappa <= minimum degree = smallest core number; the first vertex peeled has that degree
+        CoreDecomposition cores = new CoreDecomposition(g);
+        int v = cores.order[0], minDegree = cores.minCore;
+        // N(v) separates v from the rest unless v is adjacent to everything
+        boolean[] adjacentToV = new boolean[n];
+        int[] neighbours = new int[minDegree];
+        int k = 0;
+        for (int a = g.offsets[v]; a < g.offsets[v + 1]; a++) {
+            int w = g.targets[a];
+            if (w == v) continue;
+            adjacentToV[w] = true;
+            neighbours[k++] = w;
+        }
+        if (minDegree < n - 1) {
+            connectivity = minDegree;
+            separatingSet = neighbours.clone();
+        } else {
+            connectivity = n - 1; // v sees everything; only non-adjacent neighbour pairs can do better
+        }
+
+        DisjointPathsEngine engine = new DisjointPathsEngine(g);
+        for (int w = 0; w < n && connectivity > 0; w++) {
+            if (w != v && !adjacentToV[w]) {
+                tryPair(engine, v, w);
+            }
+        }
+        int[] stamp = new int[n];
+        for (int i = 0; i < neighbours.length && connectivity > 0; i++) {
+            int x = neighbours[i];
+            for (int a = g.offsets[x]; a < g.offsets[x + 1]; a++) {
+                stamp[g.targets[a]] = i + 1;
+            }
+            for (int j = i + 1; j < neighbours.length && connectivity > 0; j++) {
+                if (stamp[neighbours[j]] != i + 1) {
+                    tryPair(engine, x, neighbours[j]);
+                }
+            }
+        }
+        return connectivity;
+    }
+
+    // Flow between a non-adjacent pair, stopped once it cannot beat the current best
+    private void tryPair(DisjointPathsEngine engine, int s, int t) {
+        flows++;
+        int local = engine.maxPaths(s, t, connectivity);
+        if (local < connectivity) {
+            connectivity = local;
+            separatingSet = engine.separatingSet();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package graphtheory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Vector;
+
+/**
+ * Hash index over a vertex list; lookups by id (the position in the list),
+ * by name and by vertex are O(1). Only the canvas's live index assigns
+ * Vertex.id (assignIds == true), which EdgeIndex and ComponentTracker key on;
+ * any other index keeps its positions to itself, so it may be built over a
+ * subset or a reordered list without disturbing those ids. Rebuild the live
+ * index after removing vertices.
+ */
+public class VertexIndex {
+
+    private final ArrayList<Vertex> byId;
+    private final HashMap<String, Vertex> byName;
+    private final IdentityHashMap<Vertex, Integer> positions; // null when the ids live in Vertex.id
+
+    public VertexIndex(Vector<Vertex> vList) {
+        this(vList, false);
+    }
+
+    public VertexIndex(Vector<Vertex> vList, boolean assignIds) {
+        byId = new ArrayList<Vertex>(vList.size());
+        byName = new HashMap<String, Vertex>(vList.size() * 2);
+        positions = assignIds ? null : new IdentityHashMap<Vertex, Integer>(vList.size());
+        for (Vertex v : vList) {
+            add(v);
+        }
+    }
+
+    // Append v with the next free id
+    public void add(Vertex v) {
+        if (positions == null) {
+            v.id = byId.size();
+        } else {
+            positions.put(v, byId.size());
+        }
+        byId.add(v);
+        // first vertex with a given name wins, as with the old linear scans
+        if (!byName.containsKey(v.name)) {
+            byName.put(v.name, v);
+        }
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public Vertex get(int id) {
+        return (id >= 0 && id < byId.size()) ? byId.get(id) : null;
+    }
+
+    public Vertex get(String name) {
+        return byName.get(name);
+    }
+
+    // O(1) position of v; -1 if v does not belong to this index. Vertex.id is only read, and only
+    // trusted once byId confirms it, so a local index is answered without hashing whenever its list
+    // is in canvas order
+    public int indexOf(Vertex v) {
+        if (v == null) return -1;
+        if (v.id >= 0 && v.id < byId.size() && byId.get(v.id) == v) return v.id;
+        if (positions == null) return -1;
+        Integer p = positions.get(v);
+        return p == null ? -1 : p;
+    }
+}
@@ -4,10 +4,7 @@
  */
 package graphtheory;
 
-import java.util.ArrayList;
 import java.util.Vector;
-import java.util.Collections;
-import java.util.List;
 
 /**
  *
@@ -17,7 +14,6 @@ public class VertexPair {
 
     public Vertex vertex1;
     public Vertex vertex2;
-    public Vector<Vector<Vertex>> pathList;     //all paths
     public Vector<Vector<Vector<Vertex>>> VertexDisjointContainer = new Vector<Vector<Vector<Vertex>>>(); // container of vertex-disjoint sets
 
     public VertexPair(Vertex v1, Vertex v2) {
@@ -53,85 +49,6 @@ public class VertexPair {
 
     }
 
-    public void generateVertexDisjointPaths() {
-        VertexDisjointContainer.removeAllElements();
-        generatePaths();
-        Vector<Vector<Vertex>> tempPathList;
-
-        for (int i = 0; i < pathList.size(); i++) {
-            tempPathList = new Vector<Vector<Vertex>>();
-            tempPathList.add(pathList.get(i));
-            for (int j = 0; j < pathList.size(); j++) {
-                if (i != j) {
-                    int disjointCount = 0;
-                    for (int k = 0; k < tempPathList.size(); k++) {
-                        if (areDisjointPaths(pathList.get(j), tempPathList.get(k))) {
-                            disjointCount++;
-                        }
-                    }
-                    if (disjointCount == tempPathList.size()) {
-                        tempPathList.add(pathList.get(j));
-                    }
-                }
-            }
-            if(!isAlreadyContained(tempPathList))
-            VertexDisjointContainer.add(tempPathList);
-        }
-        
-    }
-    public boolean isAlreadyContained(Vector<Vector<Vertex>> c){
-
-        for(Vector<Vector<Vertex>> d:VertexDisjointContainer){
-                if(d.containsAll(c))
-                    return true;
-        }
-        return false;
-    }
-    public boolean areDisjointPaths(Vector<Vertex> path1, Vector<Vertex> path2) {
-
-        List<Vertex> setA = new ArrayList<Vertex>();
-        List<Vertex> setB = new ArrayList<Vertex>();
-
-        setA = path1.subList(1, path1.size() - 1);
-        setB = path2.subList(1, path2.size() - 1);
-        return Collections.disjoint(setA, setB);
-
-    }
-
-    public void generatePaths() {
-        pathList = new Vector<Vector<Vertex>>();
-        Vector<Vertex> visitedNodes = new Vector<Vertex>();
-
-        //  System.out.println("Vertex-Disjoint Paths for " + vertex1.name + "-" + vertex2.name);
-
-        pathList.removeAllElements();
-        visitedNodes.add(vertex1);
-        recursePaths(vertex1, visitedNodes);
-
-    }
-
-    public void recursePaths(Vertex v, Vector<Vertex> visitedNodes) {
-        if (visitedNodes.contains(vertex2)) {
-            Vector<Vertex> Path = new Vector<Vertex>();
-            Path.setSize(visitedNodes.size());
-            Collections.copy(Path, visitedNodes);
-            pathList.add(Path);
-            for (Vertex a : Path) {
-                System.out.print("-" + a.name);
-            }
-            System.out.println();
-        } else {
-            for (Vertex x : v.connectedVertices) {
-                if (!visitedNodes.contains(x)) {
-                    int origSize = visitedNodes.size();
-                    visitedNodes.add(x);
-                    recursePaths(x, visitedNodes);
-                    visitedNodes.setSize(origSize);
-                }
-            }
-        }
-
-    }
     // public void
 
     public class Paths {
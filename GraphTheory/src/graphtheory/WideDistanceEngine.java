@@ -0,0 +1,294 @@
+package graphtheory;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * k-wide distances of a vertex pair by successive shortest paths min-cost
+ * flow over the vertex-split SplitNetwork (Suurballe's method generalised to
+ * k paths). The k-th augmentation, a Dijkstra run on reduced costs, yields a
+ * k-container of minimum total length S_k, for every k up to the pair's width.
+ *
+ * The k-wide distance d_k is the smallest possible longest path of a
+ * k-container. The flows bracket it: d_k >= max(d_(k-1), ceil(S_k / k)), and
+ * the k shortest paths of any min-sum j-container (j >= k) form a k-container
+ * whose longest path bounds d_k from above. Where the bracket is open, each
+ * length L from the lower bound up is tested exactly: the s-t paths of length
+ * at most L stream out of a SimplePathIterator, and a backtracking search
+ * looks for k of them with no interior vertex in common. The first L that
+ * admits such a container is d_k. Minimising the longest path is NP-hard in
+ * general, so the path count and the search steps per test are limited by
+ * pathBudget and searchBudget; only a test that runs out of budget leaves
+ * lower[k] < upper[k].
+ */
+public class WideDistanceEngine {
+
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    private final SplitNetwork net;
+    private final long[] potential;
+    private final long[] dist;
+    private final int[] via;     // residual edge used to reach each node
+    private final IndexedHeap heap;
+
+    // Limits per tested length L: paths enumerated, and branches of the container search
+    public int pathBudget = 2000;
+    public int searchBudget = 20000;
+
+    // Results of the last analyze(), indexed by k = 1 .. width
+    public int width;
+    public long[] minSum;
+    public long[] lower;
+    public long[] upper;
+    private int[][][] witness;
+
+    // Candidate paths of the last tested length, shortest first, with interior-vertex masks
+    private final int words;
+    private final int minArcWeight;
+    private int candidateLimit = -1;
+    private int candidateCount;
+    private int[][] candidates = new int[16][];
+    private long[] candidateLength = new long[16];
+    private long[] candidateMask;
+    private int steps;
+
+    public WideDistanceEngine(GraphSnapshot g) {
+        net = new SplitNetwork(g);
+        words = (g.n + 63) >>> 6;
+        candidateMask = new long[16 * words];
+        int min = Integer.MAX_VALUE;
+        for (int w : g.weights) {
+            min = Math.min(min, Math.max(0, w));
+        }
+        minArcWeight = min;
+        potential = new long[net.nodes];
+        dist = new long[net.nodes];
+        via = new int[net.nodes];
+        heap = new IndexedHeap(net.nodes);
+    }
+
+    // Runs min-cost flow from s to t until no augmenting path is left; returns the width of the pair
+    public int analyze(int s, int t) {
+        net.reset();
+        Arrays.fill(potential, 0);
+        int source = 2 * s + 1, sink = 2 * t;
+        int max = s == t ? 0 : net.g.outDegree(s); // no more paths than arcs leaving s
+        long[] sums = new long[max + 1];
+        int[][][] containers = new int[max + 1][][];
+        long[][] lengths = new long[max + 1][]; // path lengths of containers[j], ascending
+        int k = 0;
+        while (k < max && shortestAugmentingPath(source, sink)) {
+            k++;
+            long pathCost = 0;
+            for (int x = sink; x != source; x = net.head[net.rev[via[x]]]) {
+                int e = via[x];
+                net.cap[e]--;
+                net.cap[net.rev[e]]++;
+                pathCost += net.cost[e];
+            }
+            sums[k] = sums[k - 1] + pathCost;
+            containers[k] = net.paths(s, t, k);
+            lengths[k] = sortByLength(containers[k]);
+        }
+
+        width = k;
+        minSum = Arrays.copyOf(sums, k + 1);
+        lower = new long[k + 1];
+        upper = new long[k + 1];
+        witness = new int[k + 1][][];
+        for (int i = 1; i <= k; i++) {
+            lower[i] = Math.max(lower[i - 1], (sums[i] + i - 1) / i);
+            // best k-container: the i shortest paths of some min-sum j-container, j >= i
+            upper[i] = INF;
+            for (int j = i; j <= k; j++) {
+                long longest = lengths[j][i - 1];
+                if (longest < upper[i]) {
+                    upper[i] = longest;
+                    witness[i] = Arrays.copyOf(containers[j], i);
+                }
+            }
+        }
+        closeGaps(s, t);
+        return width;
+    }
+
+    // Raises lower[k] one length at a time until a container proves it, or a test runs out of budget
+    private void closeGaps(int s, int t) {
+        candidateLimit = -1;
+        for (int k = 1; k <= width; k++) {
+            lower[k] = Math.max(lower[k], lower[k - 1]);
+            while (lower[k] < upper[k]) {
+                long limit = lower[k];
+                if (limit != candidateLimit && !collectCandidates(s, t, limit)) break;
+                steps = 0;
+                int[] chosen = new int[k];
+                int found = pack(k, 0, 0, chosen, new long[words]);
+                if (found < 0) break; // out of budget: the bracket stays open
+                if (found > 0) {
+                    upper[k] = limit;
+                    witness[k] = new int[k][];
+                    for (int i = 0; i < k; i++) {
+                        witness[k][i] = candidates[chosen[i]];
+                    }
+                } else {
+                    lower[k] = limit + 1;
+                }
+            }
+        }
+    }
+
+    // All s-t paths of length at most limit, shortest first; false if there are more than pathBudget
+    private boolean collectCandidates(int s, int t, long limit) {
+        GraphSnapshot g = net.g;
+        candidateLimit = -1;
+        candidateCount = 0;
+        long hops = minArcWeight > 0 ? limit / minArcWeight : g.n;
+        SimplePathIterator it = new SimplePathIterator(g, s, t, 1, (int) Math.min(hops, g.n), null);
+        boolean direct = false;
+        while (it.hasNext()) {
+            int[] path = it.next();
+            long len = length(path);
+            if (len > limit) continue;
+            if (path.length == 2) {
+                // parallel s-t arcs repeat the one path that has no interior to conflict on
+                if (direct) continue;
+                direct = true;
+            }
+            if (candidateCount == pathBudget) return false;
+            if (candidateCount == candidates.length) {
+                candidates = Arrays.copyOf(candidates, 2 * candidateCount);
+                candidateLength = Arrays.copyOf(candidateLength, 2 * candidateCount);
+                candidateMask = Arrays.copyOf(candidateMask, 2 * candidateCount * words);
+            }
+            candidates[candidateCount] = path;
+            candidateLength[candidateCount] = len;
+            candidateCount++;
+        }
+        sortCandidates();
+        candidateLimit = (int) Math.min(limit, Integer.MAX_VALUE);
+        return true;
+    }
+
+    private void sortCandidates() {
+        Integer[] order = new Integer[candidateCount];
+        for (int i = 0; i < candidateCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            public int compare(Integer a, Integer b) { return Long.compare(candidateLength[a], candidateLength[b]); }
+        });
+        int[][] paths = new int[candidateCount][];
+        long[] lengths = new long[candidateCount];
+        for (int i = 0; i < candidateCount; i++) {
+            paths[i] = candidates[order[i]];
+            lengths[i] = candidateLength[order[i]];
+        }
+        Arrays.fill(candidateMask, 0, candidateCount * words, 0);
+        for (int i = 0; i < candidateCount; i++) {
+            candidates[i] = paths[i];
+            candidateLength[i] = lengths[i];
+            int[] path = paths[i];
+            for (int j = 1; j + 1 < path.length; j++) {
+                candidateMask[i * words + (path[j] >>> 6)] |= 1L << path[j];
+            }
+        }
+    }
+
+    // Picks k - depth more candidates from index from on, disjoint from taken and each other; 1 if found,
+    // 0 if there are none, -1 if searchBudget ran out first
+    private int pack(int k, int depth, int from, int[] chosen, long[] taken) {
+        if (depth == k) return 1;
+        for (int i = from; i + (k - depth) <= candidateCount; i++) {
+            if (++steps > searchBudget) return -1;
+            boolean free = true;
+            for (int w = 0; w < words && free; w++) {
+                free = (candidateMask[i * words + w] & taken[w]) == 0;
+            }
+            if (!free) continue;
+            for (int w = 0; w < words; w++) {
+                taken[w] |= candidateMask[i * words + w];
+            }
+            chosen[depth] = i;
+            int found = pack(k, depth + 1, i + 1, chosen, taken);
+            for (int w = 0; w < words; w++) {
+                taken[w] &= ~candidateMask[i * words + w];
+            }
+            if (found != 0) return found;
+        }
+        return 0;
+    }
+
+    public boolean exact(int k) {
+        return lower[k] == upper[k];
+    }
+
+    // A k-container of the last analyze() whose longest path is upper[k], paths shortest first
+    public int[][] container(int k) {
+        return witness[k];
+    }
+
+    // Dijkstra on reduced costs over the residual network, stopped once t is settled; updates the
+    // potentials and returns false if t is cut off
+    private boolean shortestAugmentingPath(int source, int sink) {
+        int[] start = net.start, head = net.head, cap = net.cap, cost = net.cost;
+        Arrays.fill(dist, INF);
+        heap.clear();
+        dist[source] = 0;
+        heap.push(source, 0);
+        while (!heap.isEmpty()) {
+            int x = heap.pop();
+            if (x == sink) break;
+            long dx = dist[x];
+            for (int e = start[x]; e < start[x + 1]; e++) {
+                if (cap[e] == 0) continue;
+                int y = head[e];
+                long nd = dx + cost[e] + potential[x] - potential[y];
+                if (nd < dist[y]) {
+                    dist[y] = nd;
+                    via[y] = e;
+                    heap.push(y, nd);
+                }
+            }
+        }
+        long d = dist[sink];
+        if (d == INF) return false;
+        // Nodes settled before t move by their distance, all others by d(t); reduced costs stay >= 0
+        for (int x = 0; x < net.nodes; x++) {
+            potential[x] += Math.min(dist[x], d);
+        }
+        return true;
+    }
+
+    private long length(int[] path) {
+        GraphSnapshot g = net.g;
+        long total = 0;
+        for (int i = 0; i + 1 < path.length; i++) {
+            int best = Integer.MAX_VALUE;
+            for (int a = g.offsets[path[i]]; a < g.offsets[path[i] + 1]; a++) {
+                if (g.targets[a] == path[i + 1]) best = Math.min(best, Math.max(0, g.weights[a]));
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    // Sorts paths shortest first and returns their lengths in that order
+    private long[] sortByLength(int[][] paths) {
+        final long[] len = new long[paths.length];
+        Integer[] order = new Integer[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            len[i] = length(paths[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            public int compare(Integer a, Integer b) { return Long.compare(len[a], len[b]); }
+        });
+        int[][] copy = paths.clone();
+        long[] sorted = new long[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = copy[order[i]];
+            sorted[i] = len[order[i]];
+        }
+        return sorted;
+    }
+}